@@ -0,0 +1,189 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.datasource.ReadYourWritesContext;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-process title and author prefix indexes for type-ahead, loaded from the book table at startup and kept current
+ * from committed book changes, local ones and those broadcast by other replicas alike. Imports do not carry their
+ * books, so they only mark the indexes stale and the next scheduled refresh reloads them.
+ */
+@Component
+public class BookAutocompleteIndex {
+
+    private final BookJdbcRepository bookJdbcRepository;
+    // One snapshot for the scan and for the version lookup telling which changes seen meanwhile it already holds
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile PrefixIndex titles = new PrefixIndex();
+    private volatile PrefixIndex authors = new PrefixIndex();
+
+    // Changes committed while a rebuild is scanning the table; those the scan missed are replayed onto the new indexes
+    private List<BooksChangedEvent> pendingChanges;
+
+    private volatile boolean stale;
+
+    public BookAutocompleteIndex(BookJdbcRepository bookJdbcRepository, PlatformTransactionManager transactionManager) {
+        this.bookJdbcRepository = bookJdbcRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public List<PrefixIndex.Term> suggestTitles(String prefix, int limit) {
+        return titles.suggest(prefix, limit);
+    }
+
+    public List<PrefixIndex.Term> suggestAuthors(String prefix, int limit) {
+        return authors.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            PrefixIndex newTitles = new PrefixIndex();
+            PrefixIndex newAuthors = new PrefixIndex();
+            try {
+                ReadYourWritesContext.runOnPrimary(() -> snapshotTransaction.executeWithoutResult(status -> {
+                    bookJdbcRepository.forEachTitleAndAuthor((title, author) -> {
+                        newTitles.add(title);
+                        newAuthors.add(author);
+                    });
+
+                    // Held until the new indexes go live, so no change can arrive between the lookup and the replay
+                    synchronized (this) {
+                        Set<UUID> changedIds = pendingChanges.stream()
+                                .flatMap(event -> event.changedBooks().stream())
+                                .map(CreateBookResponseDto::id)
+                                .collect(Collectors.toSet());
+                        Map<UUID, Long> scannedVersions = changedIds.isEmpty()
+                                ? Map.of()
+                                : bookJdbcRepository.findVersions(changedIds);
+                        replay(pendingChanges, scannedVersions, newTitles, newAuthors);
+                        pendingChanges = null;
+                        titles = newTitles;
+                        authors = newAuthors;
+                    }
+                }));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+        }
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    @Scheduled(initialDelayString = "${book.autocomplete.refresh-interval}", fixedDelayString = "${book.autocomplete.refresh-interval}")
+    public void refreshIfStale() {
+        if (!stale) {
+            return;
+        }
+        // Cleared first: an import committing during the scan may be missed by it and must trigger another refresh
+        stale = false;
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        }
+    }
+
+    @EventListener
+    public synchronized void onBooksChanged(BooksChangedEvent event) {
+        apply(event, titles, authors);
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+    }
+
+    // Imports do not carry their books; the scheduled refresh reloads the table off the importing request
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        markStale();
+    }
+
+    private static void apply(BooksChangedEvent event, PrefixIndex titleIndex, PrefixIndex authorIndex) {
+        event.previous().forEach(book -> remove(book, titleIndex, authorIndex));
+        event.current().forEach(book -> add(book, titleIndex, authorIndex));
+    }
+
+    /**
+     * Applies the changes the scan missed. Counts are not idempotent, so a change is skipped when the scanned
+     * snapshot already holds its outcome: the book at the changed version or later, or no longer present.
+     */
+    private static void replay(List<BooksChangedEvent> changes, Map<UUID, Long> scannedVersions,
+                               PrefixIndex titleIndex, PrefixIndex authorIndex) {
+        // Version of each book the new indexes count; books they do not count are absent
+        Map<UUID, Long> counted = new HashMap<>(scannedVersions);
+        for (BooksChangedEvent event : changes) {
+            switch (event.eventType()) {
+                case CREATE -> event.current().forEach(book -> {
+                    if (!counted.containsKey(book.id())) {
+                        counted.put(book.id(), book.version());
+                        add(book, titleIndex, authorIndex);
+                    }
+                });
+                case UPDATE -> {
+                    for (int i = 0; i < event.current().size(); i++) {
+                        CreateBookResponseDto previous = event.previous().get(i);
+                        CreateBookResponseDto current = event.current().get(i);
+                        if (counted.containsKey(current.id()) && isNewer(current.version(), counted.get(current.id()))) {
+                            counted.put(current.id(), current.version());
+                            remove(previous, titleIndex, authorIndex);
+                            add(current, titleIndex, authorIndex);
+                        }
+                    }
+                }
+                case DELETE -> event.previous().forEach(book -> {
+                    if (counted.containsKey(book.id())) {
+                        counted.remove(book.id());
+                        remove(book, titleIndex, authorIndex);
+                    }
+                });
+            }
+        }
+    }
+
+    private static boolean isNewer(Long version, Long countedVersion) {
+        return version == null || countedVersion == null || version > countedVersion;
+    }
+
+    private static void add(CreateBookResponseDto book, PrefixIndex titleIndex, PrefixIndex authorIndex) {
+        titleIndex.add(book.title());
+        authorIndex.add(book.author());
+    }
+
+    private static void remove(CreateBookResponseDto book, PrefixIndex titleIndex, PrefixIndex authorIndex) {
+        titleIndex.remove(book.title());
+        authorIndex.remove(book.author());
+    }
+}
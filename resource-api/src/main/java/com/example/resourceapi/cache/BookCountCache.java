@@ -0,0 +1,65 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookCountProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+@Component
+public class BookCountCache {
+
+    private final Cache<BookFilter, Long> counts;
+    private final CacheFillGuard fillGuard;
+
+    public BookCountCache(BookCountProperties bookCountProperties, ReplicaLag replicaLag) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(bookCountProperties.cacheMaxSize())
+                .expireAfterWrite(bookCountProperties.cacheTtl())
+                .build();
+        this.fillGuard = new CacheFillGuard(replicaLag);
+    }
+
+    public Long getIfPresent(BookFilter filter) {
+        return counts.getIfPresent(filter);
+    }
+
+    public long getOrCompute(BookFilter filter, LongSupplier counter) {
+        Long cached = counts.getIfPresent(filter);
+        if (cached != null) {
+            return cached;
+        }
+
+        CacheFillGuard.Fill fill = fillGuard.startFill();
+        long count = counter.getAsLong();
+        if (fillGuard.mayCache(fill)) {
+            counts.put(filter, count);
+        }
+        return count;
+    }
+
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        fillGuard.invalidated();
+        List<CreateBookResponseDto> changedBooks = event.changedBooks();
+        if (changedBooks.size() > BookPageCache.MAX_SELECTIVELY_EVICTED_BOOKS) {
+            counts.invalidateAll();
+        } else if (!changedBooks.isEmpty()) {
+            counts.asMap().keySet().removeIf(filter -> filter.matchesAny(changedBooks));
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        fillGuard.invalidated();
+        counts.invalidateAll();
+    }
+}
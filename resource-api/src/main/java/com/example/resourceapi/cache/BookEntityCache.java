@@ -0,0 +1,81 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookEntityCacheProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of single books for {@code findById}. Local writes evict through {@link BooksChangedEvent};
+ * writes on other replicas arrive as broadcast invalidations. Misses are never cached, so a create needs no eviction.
+ * Hit, miss and eviction counts are published as the {@code books.entity} cache metrics.
+ */
+@Component
+public class BookEntityCache {
+
+    public static final String CACHE_NAME = "books.entity";
+
+    private final Cache<UUID, CreateBookResponseDto> books;
+    private final boolean enabled;
+    private final CacheFillGuard fillGuard;
+
+    public BookEntityCache(BookEntityCacheProperties bookEntityCacheProperties, MeterRegistry meterRegistry, ReplicaLag replicaLag) {
+        this.enabled = bookEntityCacheProperties.maxSize() > 0 && !bookEntityCacheProperties.ttl().isZero();
+        this.books = Caffeine.newBuilder()
+                .maximumSize(bookEntityCacheProperties.maxSize())
+                .expireAfterWrite(bookEntityCacheProperties.ttl())
+                .recordStats()
+                .build();
+        this.fillGuard = new CacheFillGuard(replicaLag);
+        CaffeineCacheMetrics.monitor(meterRegistry, books, CACHE_NAME);
+    }
+
+    public CreateBookResponseDto getOrLoad(UUID id, Supplier<CreateBookResponseDto> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CreateBookResponseDto cached = books.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        CacheFillGuard.Fill fill = fillGuard.startFill();
+        CreateBookResponseDto book = loader.get();
+        if (fillGuard.mayCache(fill)) {
+            books.put(id, book);
+        }
+        return book;
+    }
+
+    public CreateBookResponseDto getIfPresent(UUID id) {
+        return enabled ? books.getIfPresent(id) : null;
+    }
+
+    public void evictAll(Collection<UUID> ids) {
+        fillGuard.invalidated();
+        books.invalidateAll(ids);
+    }
+
+    public long estimatedSize() {
+        return books.estimatedSize();
+    }
+
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (event.eventType() != EventType.CREATE) {
+            evictAll(event.previous().stream().map(CreateBookResponseDto::id).toList());
+        }
+    }
+}
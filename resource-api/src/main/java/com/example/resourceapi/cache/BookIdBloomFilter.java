@@ -0,0 +1,128 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookBloomProperties;
+import com.example.resourceapi.datasource.ReadYourWritesContext;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bloom filter of existing book IDs, so lookups of IDs that were never created can be answered without the database.
+ * <p>
+ * Every created ID is added, whatever minted it: creates and upserts as they are written and again once they
+ * commit, imports by the ID range they report after committing, and writes on other replicas through the cache
+ * invalidation broadcast. The adds after commit cover a rebuild whose scan started before the create committed.
+ * A negative is therefore trusted for any ID, unless a create could not be added since the filter was built; then
+ * every ID is reported as possibly present until the next rebuild. Deleted IDs cannot be removed; the periodic
+ * rebuild drops them and keeps the false positive rate near the configured one.
+ * Until the first build finishes, or when disabled, every ID is reported as possibly present.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookIdBloomFilter {
+
+    private final BookBloomProperties bookBloomProperties;
+    private final BookJdbcRepository bookJdbcRepository;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Generation generation;
+
+    // Creates that could not be added; a generation is trusted only while none happened since its rebuild started
+    private volatile long missedCreates;
+
+    // IDs added while a rebuild is scanning the table; guarded by this
+    private List<UUID> pendingIds;
+
+    public boolean mightContain(UUID id) {
+        Generation current = generation;
+        return id == null || current == null || current.missedCreatesBefore() != missedCreates
+                || current.filter().mightContain(id);
+    }
+
+    public synchronized void add(UUID id) {
+        if (generation != null) {
+            generation.filter().add(id);
+        }
+        if (pendingIds != null) {
+            pendingIds.add(id);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${book.bloom.rebuild-interval}", fixedDelayString = "${book.bloom.rebuild-interval}")
+    public void rebuild() {
+        if (!bookBloomProperties.enabled()) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            long missedCreatesBefore;
+            synchronized (this) {
+                pendingIds = new ArrayList<>();
+                missedCreatesBefore = missedCreates;
+            }
+
+            // Sized for twice the current table so the filter stays accurate while the table grows until the next rebuild
+            long expectedInsertions = Math.max(bookBloomProperties.expectedInsertions(), 2 * bookJdbcRepository.estimateTotalBooks());
+            UuidBloomFilter newFilter = new UuidBloomFilter(expectedInsertions, bookBloomProperties.falsePositiveRate());
+            try {
+                ReadYourWritesContext.runOnPrimary(() -> bookJdbcRepository.forEachId(newFilter::add));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingIds = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                pendingIds.forEach(newFilter::add);
+                pendingIds = null;
+                generation = new Generation(newFilter, missedCreatesBefore);
+            }
+            log.info("Rebuilt book id bloom filter: {} bits, {} hashes", newFilter.bitCount(), newFilter.hashCount());
+        }
+    }
+
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (event.eventType() == EventType.CREATE) {
+            event.current().stream().map(CreateBookResponseDto::id).forEach(this::add);
+        }
+    }
+
+    // Imports are too large to carry their ids, but mint them in one ascending range
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        if (!bookBloomProperties.enabled() || event.importedCount() == 0) {
+            return;
+        }
+
+        try {
+            ReadYourWritesContext.runOnPrimary(() ->
+                    bookJdbcRepository.forEachIdBetween(event.firstId(), event.lastId(), this::add));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                missedCreates++;
+            }
+            log.warn("Failed to add {} imported book ids to the bloom filter, negatives are not trusted until the next rebuild",
+                    event.importedCount(), e);
+        }
+    }
+
+    private record Generation(UuidBloomFilter filter, long missedCreatesBefore) {
+    }
+}
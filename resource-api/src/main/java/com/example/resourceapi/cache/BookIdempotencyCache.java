@@ -0,0 +1,73 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookIdempotencyProperties;
+import com.example.resourceapi.repository.idempotency.IdempotentCreation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Front cache of the idempotency table, so replays of recent requests are answered without touching the database.
+ * Entries expire when their stored key does, not a full TTL after they were cached. Hit, miss and eviction counts
+ * are published as the {@code books.idempotency} cache metrics.
+ */
+@Component
+public class BookIdempotencyCache {
+
+    public static final String CACHE_NAME = "books.idempotency";
+
+    private final Cache<String, IdempotentCreation> creations;
+
+    public BookIdempotencyCache(BookIdempotencyProperties bookIdempotencyProperties, MeterRegistry meterRegistry) {
+        this.creations = Caffeine.newBuilder()
+                .maximumSize(bookIdempotencyProperties.cacheMaxSize())
+                .expireAfter(new KeyExpiry(bookIdempotencyProperties.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, creations, CACHE_NAME);
+    }
+
+    public IdempotentCreation getIfPresent(String key) {
+        return creations.getIfPresent(key);
+    }
+
+    public void put(String key, IdempotentCreation creation) {
+        creations.put(key, creation);
+    }
+
+    public long estimatedSize() {
+        return creations.estimatedSize();
+    }
+
+    private record KeyExpiry(Duration ttl) implements Expiry<String, IdempotentCreation> {
+
+        @Override
+        public long expireAfterCreate(String key, IdempotentCreation creation, long currentTime) {
+            return remainingNanos(creation);
+        }
+
+        // A replay re-puts the stored creation, which must not extend its lifetime
+        @Override
+        public long expireAfterUpdate(String key, IdempotentCreation creation, long currentTime,
+                                      long currentDuration) {
+            return remainingNanos(creation);
+        }
+
+        @Override
+        public long expireAfterRead(String key, IdempotentCreation creation, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+
+        private long remainingNanos(IdempotentCreation creation) {
+            Duration remaining = Duration.between(Instant.now(), creation.createdAt().plus(ttl));
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+    }
+}
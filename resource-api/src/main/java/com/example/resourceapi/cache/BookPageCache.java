@@ -0,0 +1,93 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookPageCacheProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Whole {@code listBooks} responses keyed by sanitized page request and normalized filter. A change only evicts
+ * the pages whose filter matches a changed book, before or after the change; other pages cannot have moved.
+ * Large batches drop every page instead, as matching each cached filter against each book costs more than a reload.
+ * Pages may be loaded from a read replica; see {@link CacheFillGuard} for when such a load is kept.
+ * Hit, miss and eviction counts are published as the {@code books.page} cache metrics.
+ */
+@Component
+public class BookPageCache {
+
+    public static final String CACHE_NAME = "books.page";
+
+    static final int MAX_SELECTIVELY_EVICTED_BOOKS = 100;
+
+    private final Cache<Key, PagedBooksResponseDto<CreateBookResponseDto>> pages;
+    private final boolean enabled;
+    private final CacheFillGuard fillGuard;
+
+    public BookPageCache(BookPageCacheProperties bookPageCacheProperties, MeterRegistry meterRegistry, ReplicaLag replicaLag) {
+        this.enabled = bookPageCacheProperties.maxSize() > 0 && !bookPageCacheProperties.ttl().isZero();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(bookPageCacheProperties.maxSize())
+                .expireAfterWrite(bookPageCacheProperties.ttl())
+                .recordStats()
+                .build();
+        this.fillGuard = new CacheFillGuard(replicaLag);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    public PagedBooksResponseDto<CreateBookResponseDto> getOrLoad(Key key,
+                                                                 Supplier<PagedBooksResponseDto<CreateBookResponseDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        PagedBooksResponseDto<CreateBookResponseDto> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CacheFillGuard.Fill fill = fillGuard.startFill();
+        PagedBooksResponseDto<CreateBookResponseDto> page = loader.get();
+        if (fillGuard.mayCache(fill)) {
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    public long estimatedSize() {
+        return pages.estimatedSize();
+    }
+
+    @EventListener
+    public void onBooksChanged(BooksChangedEvent event) {
+        fillGuard.invalidated();
+        List<CreateBookResponseDto> changedBooks = event.changedBooks();
+        if (changedBooks.size() > MAX_SELECTIVELY_EVICTED_BOOKS) {
+            pages.invalidateAll();
+        } else if (!changedBooks.isEmpty()) {
+            pages.asMap().keySet().removeIf(key -> key.filter().matchesAny(changedBooks));
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        fillGuard.invalidated();
+        pages.invalidateAll();
+    }
+
+    public record Key(BookFilter filter, Pageable pageable, TotalCountMode totalCountMode) {
+    }
+}
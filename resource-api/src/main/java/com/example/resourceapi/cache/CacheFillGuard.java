@@ -0,0 +1,40 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.datasource.ReplicaLag;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a value loaded on a cache miss may be kept. Loads run on whatever the read is routed to, so a
+ * load is kept only if no invalidation happened while it ran and the replicas had replayed the last invalidated
+ * write by the time it started; otherwise it is served once and loaded again on the next miss.
+ */
+final class CacheFillGuard {
+
+    private final ReplicaLag replicaLag;
+    // Bumped by every invalidation; a load that overlapped one may predate it
+    private final AtomicLong generation = new AtomicLong();
+    // Startup counts as an invalidation, for writes made just before it on other replicas
+    private volatile long lastInvalidationNanos = System.nanoTime();
+
+    CacheFillGuard(ReplicaLag replicaLag) {
+        this.replicaLag = replicaLag;
+    }
+
+    Fill startFill() {
+        return new Fill(generation.get(), System.nanoTime());
+    }
+
+    boolean mayCache(Fill fill) {
+        return generation.get() == fill.generation()
+                && replicaLag.hasReplayed(lastInvalidationNanos, fill.startNanos());
+    }
+
+    void invalidated() {
+        lastInvalidationNanos = System.nanoTime();
+        generation.incrementAndGet();
+    }
+
+    record Fill(long generation, long startNanos) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.resourceapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted map of normalized terms, so all terms sharing a prefix form one contiguous range. Suggestions are the
+ * terms of that range carried by the most books.
+ * <p>
+ * Ranking a range means visiting all of it, which for one- or two-letter prefixes is most of the index. So the
+ * ranking of a prefix is computed once, on its first request, and kept for the most requested prefixes; writes
+ * adjust the kept rankings of the prefixes of the term they touch. Only a term dropping out of a full ranking
+ * forces that ranking to be computed again, since the term replacing it may be anywhere in the range.
+ * Reads of kept rankings are lock-free; writers must be serialized by the owner.
+ */
+public class PrefixIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final int MAX_RANKED_PREFIXES = 10_000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Most books first, then alphabetical
+    private static final Comparator<RankedTerm> RANK = Comparator
+            .comparingInt((RankedTerm ranked) -> ranked.term().books()).reversed()
+            .thenComparing(RankedTerm::key);
+
+    private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+    // Best MAX_SUGGESTIONS terms per prefix, best first; fewer only when the range holds fewer terms
+    private final Cache<String, List<RankedTerm>> rankings = Caffeine.newBuilder()
+            .maximumSize(MAX_RANKED_PREFIXES)
+            .build();
+
+    // Set before the first ranking is computed; until then writes have no rankings to adjust
+    private volatile boolean queried;
+
+    public void add(String value) {
+        String key = normalize(value);
+        if (key != null) {
+            Term term = terms.merge(key, new Term(value.strip(), 1),
+                    (existing, added) -> new Term(existing.value(), existing.books() + 1));
+            updateRankings(key, term, true);
+        }
+    }
+
+    public void remove(String value) {
+        String key = normalize(value);
+        if (key != null && terms.containsKey(key)) {
+            Term term = terms.computeIfPresent(key, (ignored, existing) ->
+                    existing.books() <= 1 ? null : new Term(existing.value(), existing.books() - 1));
+            updateRankings(key, term, false);
+        }
+    }
+
+    public List<Term> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key == null) {
+            return List.of();
+        }
+
+        if (!queried) {
+            queried = true;
+        }
+        // Computed under the cache's lock for the prefix, so a concurrent write adjusts the finished ranking
+        List<RankedTerm> ranking = rankings.get(key, this::rank);
+        return ranking.stream()
+                .limit(Math.min(limit, MAX_SUGGESTIONS))
+                .map(RankedTerm::term)
+                .toList();
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(value.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private List<RankedTerm> rank(String prefix) {
+        // Keeps the best terms seen so far; the worst of them sits at the head
+        PriorityQueue<RankedTerm> best = new PriorityQueue<>(MAX_SUGGESTIONS + 1, RANK.reversed());
+        for (Map.Entry<String, Term> entry : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            best.add(new RankedTerm(entry.getKey(), entry.getValue()));
+            if (best.size() > MAX_SUGGESTIONS) {
+                best.poll();
+            }
+        }
+
+        List<RankedTerm> ranking = new ArrayList<>(best);
+        ranking.sort(RANK);
+        return List.copyOf(ranking);
+    }
+
+    /**
+     * Moves {@code key} to its new place in the kept ranking of each of its prefixes. {@code term} is the term's
+     * new state, null once no book carries it; applying the same state twice leaves a ranking unchanged.
+     */
+    private void updateRankings(String key, Term term, boolean added) {
+        // Skips the prefix lookups while an index is being loaded
+        if (!queried) {
+            return;
+        }
+        for (int length = 1; length <= key.length(); length++) {
+            rankings.asMap().computeIfPresent(key.substring(0, length),
+                    (prefix, ranking) -> added ? raised(ranking, key, term) : lowered(ranking, key, term));
+        }
+    }
+
+    // A term only gained books, so it either enters the ranking or nothing else changes
+    private static List<RankedTerm> raised(List<RankedTerm> ranking, String key, Term term) {
+        List<RankedTerm> updated = new ArrayList<>(ranking);
+        updated.removeIf(ranked -> ranked.key().equals(key));
+        updated.add(new RankedTerm(key, term));
+        updated.sort(RANK);
+        return List.copyOf(updated.subList(0, Math.min(updated.size(), MAX_SUGGESTIONS)));
+    }
+
+    // A term lost books; if it was in a full ranking, a term outside it may now rank higher, so it is dropped
+    private static List<RankedTerm> lowered(List<RankedTerm> ranking, String key, Term term) {
+        if (ranking.stream().noneMatch(ranked -> ranked.key().equals(key))) {
+            return ranking;
+        }
+        if (ranking.size() == MAX_SUGGESTIONS) {
+            return null;
+        }
+
+        List<RankedTerm> updated = new ArrayList<>(ranking);
+        updated.removeIf(ranked -> ranked.key().equals(key));
+        if (term != null) {
+            updated.add(new RankedTerm(key, term));
+            updated.sort(RANK);
+        }
+        return List.copyOf(updated);
+    }
+
+    /**
+     * A term as first seen, with the number of books carrying it.
+     */
+    public record Term(String value, int books) {
+    }
+
+    private record RankedTerm(String key, Term term) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.resourceapi.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over UUIDs. Bit positions come from double hashing of the two UUID halves;
+ * adds and lookups are lock-free.
+ */
+public class UuidBloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public UuidBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(expectedInsertions, 1);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        int wordCount = (int) Math.min((optimalBits + Long.SIZE - 1) / Long.SIZE, Integer.MAX_VALUE - 8);
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * LN_2));
+    }
+
+    public void add(UUID id) {
+        long hash1 = hash1(id);
+        long hash2 = hash2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} only if the id was definitely never added
+     */
+    public boolean mightContain(UUID id) {
+        long hash1 = hash1(id);
+        long hash2 = hash2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    // Odd, so consecutive probes never collapse onto the same bit
+    private static long hash2(UUID id) {
+        return mix(id.getLeastSignificantBits() ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE1A85EC5L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.resourceapi.config;
+
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.datasource.ReadYourWritesFilter;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that sends read-only transactions to read replicas.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "book.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private final BookDataSourceRoutingProperties routingProperties;
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSourceProvider;
+    private final ReplicaLag replicaLag;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        List<BookDataSourceRoutingProperties.Replica> replicas =
+                routingProperties.replicas() == null ? List.of() : routingProperties.replicas();
+
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            BookDataSourceRoutingProperties.Replica replica = replicas.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            // A dead replica must fail fast so the request can still be served by the primary
+            dataSource.setConnectionTimeout(routingProperties.replicaConnectionTimeout().toMillis());
+            replicaDataSources.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        return new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(routingProperties.readYourWritesWindow(), Clock.systemUTC()));
+    }
+
+    @Scheduled(fixedDelayString = "${book.datasource.routing.health-check-interval}")
+    public void checkReplicas() {
+        ReplicaRoutingDataSource routingDataSource = routingDataSourceProvider.getObject();
+        routingDataSource.checkReplicas();
+        replicaLag.update(routingDataSource.maxReplicaLag());
+    }
+}
@@ -2,14 +2,17 @@ package com.example.resourceapi.config;
 
 import com.example.resourceapi.config.props.RabbitProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,10 +36,27 @@ public class RabbitConfig {
     }
 
     @Bean
-    public Binding binding(Queue queue, TopicExchange exchange) {
+    public Binding binding(@Qualifier("queue") Queue queue, TopicExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with(rabbitProperties.routingKey());
     }
 
+    @Bean
+    public FanoutExchange bookCacheExchange() {
+        return new FanoutExchange(rabbitProperties.cacheExchangeName());
+    }
+
+    // Every replica needs its own copy of each invalidation, so each one binds a private, auto-deleted queue
+    @Bean
+    public Queue bookCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bookCacheInvalidationBinding(@Qualifier("bookCacheInvalidationQueue") Queue queue,
+                                                FanoutExchange bookCacheExchange) {
+        return BindingBuilder.bind(queue).to(bookCacheExchange);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -0,0 +1,8 @@
+package com.example.resourceapi.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "book.bloom")
+public record BookBloomProperties(boolean enabled, long expectedInsertions, double falsePositiveRate, Duration rebuildInterval) {}
@@ -0,0 +1,17 @@
+package com.example.resourceapi.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "book.datasource.routing")
+public record BookDataSourceRoutingProperties(boolean enabled,
+                                              List<Replica> replicas,
+                                              Duration readYourWritesWindow,
+                                              Duration healthCheckInterval,
+                                              Duration replicaConnectionTimeout,
+                                              Duration maxCacheableLag) {
+
+    public record Replica(String url, String username, String password) {}
+}
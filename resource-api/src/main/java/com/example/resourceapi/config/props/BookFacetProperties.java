@@ -0,0 +1,8 @@
+package com.example.resourceapi.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "book.facets")
+public record BookFacetProperties(Duration foldInterval, int foldBatchSize) {}
@@ -0,0 +1,8 @@
+package com.example.resourceapi.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "book.idempotency")
+public record BookIdempotencyProperties(Duration ttl, long cacheMaxSize, Duration purgeInterval, int purgeBatchSize) {}
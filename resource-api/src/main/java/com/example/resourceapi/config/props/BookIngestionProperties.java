@@ -0,0 +1,15 @@
+package com.example.resourceapi.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "book.ingestion")
+public record BookIngestionProperties(int concurrency,
+                                      int queueCapacity,
+                                      int chunkSize,
+                                      int maxBatchSize,
+                                      int maxReportedFailures,
+                                      Duration retention,
+                                      Duration purgeInterval,
+                                      Duration staleAfter) {}
@@ -3,4 +3,4 @@ package com.example.resourceapi.config.props;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "spring.rabbitmq")
-public record RabbitProperties (String exchangeName, String queueName, String routingKey) {}
+public record RabbitProperties (String exchangeName, String queueName, String routingKey, String cacheExchangeName) {}
@@ -1,10 +1,31 @@
 package com.example.resourceapi.controller;
 
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.request.DeleteBooksRequestDto;
+import com.example.resourceapi.dto.request.LookupBooksRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
+import com.example.resourceapi.dto.response.AutocompleteResponseDto;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.DeleteBooksResponseDto;
+import com.example.resourceapi.dto.response.ImportBooksResponseDto;
+import com.example.resourceapi.dto.response.LookupBooksResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.dto.response.UpdateBooksResponseDto;
+import com.example.resourceapi.dto.response.UpsertBooksResponseDto;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.enums.BookImportFormat;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.exception.InvalidBulkDeleteException;
+import com.example.resourceapi.service.BookAutocompleteService;
+import com.example.resourceapi.service.BookExportService;
+import com.example.resourceapi.service.BookFacetService;
+import com.example.resourceapi.service.BookIdempotencyService;
+import com.example.resourceapi.service.BookImportService;
+import com.example.resourceapi.service.BookIngestionService;
 import com.example.resourceapi.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,19 +39,30 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -38,6 +70,16 @@ import java.util.UUID;
 @Tag(name = "Books", description = "API for managing books and resources")
 public class BookController {
     private final BookService bookService;
+    private final BookFacetService bookFacetService;
+    private final BookAutocompleteService bookAutocompleteService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
+    private final BookIngestionService bookIngestionService;
+    private final BookIdempotencyService bookIdempotencyService;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
 
     @PostMapping
     @Operation(summary = "Create books", description = "Create one or more new books in the system")
@@ -45,21 +87,93 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Books created successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = CreateBookResponseDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid book data provided")
+            @ApiResponse(responseCode = "400", description = "Invalid book data provided"),
+            @ApiResponse(responseCode = "422", description = "Idempotency key was already used for a different request")
     })
-    public List<CreateBookResponseDto> addBooks(
+    public ResponseEntity<List<CreateBookResponseDto>> addBooks(
+            @Parameter(description = "Makes retries safe: a repeated request with the same key returns the original "
+                    + "response instead of creating the books again", example = "0b7d3c2e-5f1a-4e8b-9a6d-2c4f8e1b7a90")
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Parameter(description = "List of books to create", required = true)
             @RequestBody List<@Valid CreateBookRequestDto> books) {
-        return bookService.saveAll(books);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(bookService.saveAll(books));
+        }
+        BookIdempotencyService.Result result = bookIdempotencyService.saveAll(idempotencyKey, books);
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.books());
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import books from CSV",
+            description = "Bulk-insert books from a CSV upload with the header title,author,publicationYear,description; invalid rows are skipped and reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Upload could not be parsed; nothing was imported")
+    })
+    public ImportBooksResponseDto importBooksCsv(InputStream body) {
+        return bookImportService.importBooks(BookImportFormat.CSV, body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import books from NDJSON",
+            description = "Bulk-insert books from one JSON book object per line; invalid rows are skipped and reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Upload could not be parsed; nothing was imported")
+    })
+    public ImportBooksResponseDto importBooksNdjson(InputStream body) {
+        return bookImportService.importBooks(BookImportFormat.NDJSON, body);
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit book ingestion job",
+            description = "Queue a batch of books for creation in the background and return immediately; "
+                    + "rows are validated and saved in chunks, and failed rows are reported on the job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted; poll the Location header for progress",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookIngestionJobResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "503", description = "Too many jobs are queued; retry later")
+    })
+    public ResponseEntity<BookIngestionJobResponseDto> submitIngestionJob(
+            @Parameter(description = "List of books to create", required = true)
+            @RequestBody List<CreateBookRequestDto> books) {
+        BookIngestionJobResponseDto job = bookIngestionService.submit(books);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/books/jobs/" + job.id()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get book ingestion job", description = "Retrieve the status, progress and failed rows of an ingestion job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookIngestionJobResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found or already purged")
+    })
+    public BookIngestionJobResponseDto getIngestionJob(
+            @Parameter(description = "Unique identifier of the job", required = true, example = "0192f1a4-8c3e-7d2a-9b41-5f0c2e7a1d33")
+            @PathVariable(name = "jobId") UUID jobId) {
+        return bookIngestionService.findJob(jobId);
     }
 
     @GetMapping
     @Operation(summary = "List books", description = "Retrieve books with optional filtering and pagination")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid pagination or filter parameters")
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PagedBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid pagination, filter or fields parameters")
     })
-    public PagedBooksResponseDto listBooks(
+    public ResponseEntity<PagedBooksResponseDto<?>> listBooks(
             @PageableDefault(page = 0, size = 10, sort = "title", direction = Sort.Direction.ASC)
             @Parameter(description = "Pagination information") Pageable pageable,
             @Parameter(description = "Filter by book title", example = "Spring Boot Guide")
@@ -67,8 +181,122 @@ public class BookController {
             @Parameter(description = "Filter by author name", example = "John Doe")
             @RequestParam(name = "author", required = false) String author,
             @Parameter(description = "Filter by publication publicationYear", example = "2023")
+            @RequestParam(name = "publicationYear", required = false) Integer publicationYear,
+            @Parameter(description = "Whether to compute totalElements/totalPages; false skips the count query", example = "true")
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal,
+            @Parameter(description = "Whether broad queries may report a planner estimate instead of an exact total", example = "false")
+            @RequestParam(name = "estimateTotal", defaultValue = "false") boolean estimateTotal,
+            @Parameter(description = "Comma-separated book fields to return: id, title, author, publicationYear, description; all fields when omitted",
+                    example = "id,title,author")
+            @RequestParam(name = "fields", required = false) String fields) {
+        TotalCountMode totalCountMode = !withTotal ? TotalCountMode.NONE
+                : estimateTotal ? TotalCountMode.ESTIMATED : TotalCountMode.EXACT;
+        PagedBooksResponseDto<?> page = fields != null
+                ? bookService.findBookFieldsWithPagination(pageable, title, author, publicationYear,
+                BookField.parse(fields), totalCountMode)
+                : bookService.findBooksWithPagination(pageable, title, author, publicationYear, totalCountMode);
+        // A matching If-None-Match is answered with 304 before the body is written
+        return ResponseEntity.ok().eTag(BookETags.forPage(page)).body(page);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll books", description = "Retrieve books with keyset pagination; deep slices cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid scroll token")
+    })
+    public ScrollBooksResponseDto scrollBooks(
+            @Parameter(description = "Token returned as 'nextToken' by the previous slice; omit for the first slice")
+            @RequestParam(name = "token", required = false) String token,
+            @Parameter(description = "Number of books per slice", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @Parameter(description = "Sort field: title, author or publicationYear (ignored when a token is given)", example = "title")
+            @RequestParam(name = "sortBy", defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction (ignored when a token is given)", example = "ASC")
+            @RequestParam(name = "direction", defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Filter by book title", example = "Spring Boot Guide")
+            @RequestParam(name = "title", required = false) String title,
+            @Parameter(description = "Filter by author name", example = "John Doe")
+            @RequestParam(name = "author", required = false) String author,
+            @Parameter(description = "Filter by publication publicationYear", example = "2023")
             @RequestParam(name = "publicationYear", required = false) Integer publicationYear) {
-        return bookService.findBooksWithPagination(pageable, title, author, publicationYear);
+        return bookService.scrollBooks(token, size, sortBy, direction, title, author, publicationYear);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export books", description = "Stream all books matching the filters as NDJSON, gzip-compressed when the client accepts it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = CreateBookResponseDto.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @Parameter(description = "Filter by book title", example = "Spring Boot Guide")
+            @RequestParam(name = "title", required = false) String title,
+            @Parameter(description = "Filter by author name", example = "John Doe")
+            @RequestParam(name = "author", required = false) String author,
+            @Parameter(description = "Filter by publication publicationYear", example = "2023")
+            @RequestParam(name = "publicationYear", required = false) Integer publicationYear,
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                bookExportService.exportNdjson(title, author, publicationYear, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                bookExportService.exportNdjson(title, author, publicationYear, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Book facets", description = "Retrieve books per publication year and top authors for the given filter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facets retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookFacetsResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid filter parameters")
+    })
+    public BookFacetsResponseDto getFacets(
+            @Parameter(description = "Filter by book title", example = "Spring Boot Guide")
+            @RequestParam(name = "title", required = false) String title,
+            @Parameter(description = "Filter by author name", example = "John Doe")
+            @RequestParam(name = "author", required = false) String author,
+            @Parameter(description = "Filter by publication publicationYear", example = "2023")
+            @RequestParam(name = "publicationYear", required = false) Integer publicationYear,
+            @Parameter(description = "Number of top authors to return (at most 100)", example = "10")
+            @RequestParam(name = "topAuthors", defaultValue = "10") int topAuthors) {
+        return bookFacetService.getFacets(title, author, publicationYear, topAuthors);
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete", description = "Suggest titles or authors starting with the given prefix, served from memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AutocompleteResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported field")
+    })
+    public AutocompleteResponseDto autocomplete(
+            @Parameter(description = "Case-insensitive prefix", required = true, example = "spring b")
+            @RequestParam(name = "prefix") String prefix,
+            @Parameter(description = "Field to complete: title or author", example = "title")
+            @RequestParam(name = "field", defaultValue = "title") String field,
+            @Parameter(description = "Maximum number of suggestions (at most 50)", example = "10")
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return bookAutocompleteService.suggest(BookField.fromProperty(field), prefix, limit);
     }
 
     @GetMapping("/{id}")
@@ -77,18 +305,46 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Book found successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = CreateBookResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Book unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Book not found")
     })
-    public CreateBookResponseDto getBookById(
+    public ResponseEntity<CreateBookResponseDto> getBookById(
             @Parameter(description = "Unique identifier of the book", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
-            @PathVariable(name = "id") UUID id) {
-        return bookService.findById(id);
+            @PathVariable(name = "id") UUID id,
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Only conditional requests pay for the version lookup; a match skips fetching and serializing the book
+        if (ifNoneMatch != null) {
+            String currentETag = bookService.findUpdatedAt(id).map(BookETags::forBook).orElse(null);
+            if (currentETag != null && matchesAny(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
+
+        // The ETag must describe the fetched body, which may be newer than the version looked up above
+        CreateBookResponseDto book = bookService.findById(id);
+        return ResponseEntity.ok().eTag(BookETags.forBook(book.updatedAt())).body(book);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get books by IDs", description = "Retrieve up to 5000 books by their identifiers in a single query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed; missing IDs are listed in notFoundIds",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LookupBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing, empty or too many IDs")
+    })
+    public LookupBooksResponseDto lookupBooks(
+            @Parameter(description = "IDs of the books to retrieve", required = true)
+            @Valid @RequestBody LookupBooksRequestDto lookupRequest) {
+        return bookService.findAllByIds(lookupRequest.ids());
     }
 
     @PatchMapping
-    @Operation(summary = "Update books", description = "Update specific fields of existing books")
+    @Operation(summary = "Update books", description = "Update specific fields of existing books. Books changed since "
+            + "the given version or being changed concurrently are skipped and listed in conflictedIds")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Books are updated successfully",
+            @ApiResponse(responseCode = "200", description = "Update completed; missing and conflicted IDs are listed separately",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UpdateBooksResponseDto.class))),
     })
@@ -99,6 +355,21 @@ public class BookController {
     }
 
 
+    @PutMapping
+    @Operation(summary = "Upsert books",
+            description = "Create books under client-supplied IDs, replacing every field of the books that already exist")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books are upserted; inserted and updated IDs are listed separately",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = UpsertBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid book data or repeated IDs provided")
+    })
+    public UpsertBooksResponseDto upsertBooks(
+            @Parameter(description = "Books to create or replace", required = true)
+            @RequestBody List<@Valid UpsertBookRequestDto> books) {
+        return bookService.upsertBooks(books);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete book", description = "Delete a book by its unique identifier")
     @ApiResponses(value = {
@@ -111,4 +382,69 @@ public class BookController {
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/delete")
+    @Operation(summary = "Delete books",
+            description = "Delete up to 50000 books by ID, or every book matching a title, author and/or year filter, "
+                    + "with a single statement and a single change event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion completed; missing IDs are listed in notFoundIds",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DeleteBooksResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both of IDs and filter given, or too many IDs")
+    })
+    public DeleteBooksResponseDto deleteBooks(
+            @Parameter(description = "IDs or filter of the books to delete", required = true)
+            @Valid @RequestBody DeleteBooksRequestDto deleteRequest) {
+        boolean hasFilter = deleteRequest.title() != null || deleteRequest.author() != null
+                || deleteRequest.publicationYear() != null;
+        if (deleteRequest.ids() == null) {
+            return bookService.deleteBooksMatching(deleteRequest.title(), deleteRequest.author(), deleteRequest.publicationYear());
+        }
+        if (hasFilter) {
+            throw new InvalidBulkDeleteException("books are selected either by ids or by filter, not both");
+        }
+        return bookService.deleteBooks(deleteRequest.ids());
+    }
+
+    // If-None-Match uses weak comparison: the opaque tags must match, W/ prefixes are ignored
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        String currentTag = ETag.parse(eTag).get(0).tag();
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.tag().equals(currentTag));
+    }
+
+    // An explicit gzip entry wins over "*"; a q-value of 0, or one that cannot be parsed, refuses the coding
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].strip().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("*")) {
+                wildcardQuality = quality;
+            } else {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
 }
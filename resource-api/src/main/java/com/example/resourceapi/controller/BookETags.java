@@ -0,0 +1,64 @@
+package com.example.resourceapi.controller;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * ETags derived from response data rather than serialized bodies, so a 304 can be answered without writing JSON.
+ * A single book's representation changes exactly when its {@code updatedAt} does, which makes its ETag strong;
+ * page ETags are hashes and therefore weak.
+ */
+final class BookETags {
+
+    private BookETags() {
+    }
+
+    static String forBook(Instant updatedAt) {
+        return updatedAt == null ? null : "\"" + Long.toHexString(toMicros(updatedAt)) + "\"";
+    }
+
+    static String forPage(PagedBooksResponseDto<?> page) {
+        long hash = paginationHash(page.totalElements(), page.totalPages(), page.totalElementsEstimated(),
+                page.currentPage(), page.pageSize(), page.hasNext(), page.hasPrevious());
+        for (Object book : page.books()) {
+            if (book instanceof CreateBookResponseDto fullBook) {
+                // Full books change exactly when their updatedAt does
+                UUID id = fullBook.id();
+                hash = mix(hash, id.getMostSignificantBits());
+                hash = mix(hash, id.getLeastSignificantBits());
+                hash = mix(hash, fullBook.updatedAt() == null ? 0 : toMicros(fullBook.updatedAt()));
+            } else {
+                hash = mix(hash, Objects.hashCode(book));
+            }
+        }
+        return weak(hash);
+    }
+
+    private static long paginationHash(Object... fields) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (Object field : fields) {
+            hash = mix(hash, Objects.hashCode(field));
+        }
+        return hash;
+    }
+
+    private static String weak(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // Postgres keeps microseconds; a freshly written entity may still carry nanoseconds
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.resourceapi.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as serving a client that wrote recently, so its reads must see the primary.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs a read on the primary, for results that are cached or indexed and would otherwise keep a replica's lag
+     * after it has caught up. Only takes effect if the read acquires the transaction's connection.
+     */
+    public static <T> T callOnPrimary(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        pinToPrimary();
+        try {
+            return read.get();
+        } finally {
+            clear();
+        }
+    }
+
+    public static void runOnPrimary(Runnable read) {
+        callOnPrimary(() -> {
+            read.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.resourceapi.datasource;
+
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Replay lag of the read replicas as last measured by the routing health check, so caches filled by reads that a
+ * replica may have served can tell whether that replica already held the writes they were invalidated for.
+ * Zero when reads are not routed; unknown, and so never caught up, until the first check or above the configured
+ * {@code max-cacheable-lag}.
+ */
+@Component
+public class ReplicaLag {
+
+    private static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final Duration maxCacheableLag;
+
+    private volatile long lagNanos;
+
+    public ReplicaLag(BookDataSourceRoutingProperties routingProperties) {
+        this.maxCacheableLag = routingProperties.maxCacheableLag();
+        this.lagNanos = routingProperties.enabled() ? UNKNOWN : 0;
+    }
+
+    /**
+     * @param measured lag of the most lagging healthy replica, or null when it could not be measured
+     */
+    public void update(Duration measured) {
+        lagNanos = measured == null || measured.compareTo(maxCacheableLag) > 0 ? UNKNOWN : measured.toNanos();
+    }
+
+    /**
+     * Whether a read started at {@code readStartNanos} sees a write committed by {@code writeNanos} on any replica,
+     * both taken from {@link System#nanoTime()}.
+     */
+    public boolean hasReplayed(long writeNanos, long readStartNanos) {
+        long lag = lagNanos;
+        return lag != UNKNOWN && readStartNanos - writeNanos >= lag;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.resourceapi.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas in round robin, skipping replicas that failed their
+ * last health check or connection attempt, and everything else to the primary. Falls back to the primary when no
+ * replica is healthy or the current client is pinned by {@link ReadYourWritesContext}. The health check also measures
+ * each replica's replay lag, which {@link ReplicaLag} hands to the caches filled from these reads.
+ * <p>
+ * The read-only flag is only known once the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 2;
+    // Zero once everything received is replayed, so an idle primary does not read as a growing lag
+    private static final String REPLAY_LAG_SQL = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            Duration lag = null;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS);
+                if (healthy) {
+                    lag = measureLag(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Read replica {} is now {}", replica.name, healthy ? "healthy" : "down");
+            }
+            replica.lag = lag;
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Lag of the most lagging replica reads can be routed to, as of the last health check; null when one of them
+     * could not be measured. Zero when no replica is healthy, as reads then go to the primary.
+     */
+    public Duration maxReplicaLag() {
+        Duration max = Duration.ZERO;
+        for (Replica replica : replicas) {
+            if (!replica.healthy) {
+                continue;
+            }
+            Duration lag = replica.lag;
+            if (lag == null) {
+                return null;
+            }
+            max = lag.compareTo(max) > 0 ? lag : max;
+        }
+        return max;
+    }
+
+    public boolean isHealthy(String replicaName) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(replicaName) && replica.healthy);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica selectReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesContext.isPinnedToPrimary()) {
+            return null;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static Duration measureLag(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(HEALTH_CHECK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(REPLAY_LAG_SQL)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                double lagMillis = resultSet.getDouble(1);
+                return resultSet.wasNull() ? null : Duration.ofMillis((long) Math.ceil(lagMillis));
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Could not measure the replay lag of a read replica", e);
+            return null;
+        }
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("Read replica {} failed to hand out a connection, routing reads elsewhere until it recovers", replica.name, e);
+        }
+        replica.healthy = false;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile Duration lag;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
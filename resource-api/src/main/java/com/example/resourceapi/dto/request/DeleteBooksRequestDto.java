@@ -0,0 +1,29 @@
+package com.example.resourceapi.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Request data for deleting several books at once, selected either by ID or by filter")
+public record DeleteBooksRequestDto(
+        @Size(max = 50000, message = "At most 50000 ids can be deleted at once")
+        @ArraySchema(schema = @Schema(description = "Book ID", example = "123e4567-e89b-12d3-a456-426614174000"),
+                maxItems = 50000)
+        List<@NotNull(message = "Id must not be null") UUID> ids,
+
+        @Schema(description = "Delete books whose title contains this text (case-insensitive)", example = "spring")
+        String title,
+
+        @Schema(description = "Delete books whose author contains this text (case-insensitive)", example = "walls")
+        String author,
+
+        @Schema(description = "Delete books published in this year", example = "2023")
+        Integer publicationYear
+) {
+}
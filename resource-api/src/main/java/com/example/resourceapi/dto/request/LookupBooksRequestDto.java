@@ -0,0 +1,21 @@
+package com.example.resourceapi.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Request data for looking up several books by ID at once")
+public record LookupBooksRequestDto(
+        @NotNull(message = "Ids must not be null")
+        @Size(min = 1, max = 5000, message = "Between 1 and 5000 ids can be looked up at once")
+        @ArraySchema(schema = @Schema(description = "Book ID", example = "123e4567-e89b-12d3-a456-426614174000"),
+                minItems = 1, maxItems = 5000)
+        List<@NotNull(message = "Id must not be null") UUID> ids
+) {
+}
@@ -28,6 +28,10 @@ public record UpdateBookRequestDto(
                 @Max(value = 9999, message = "Maximum value is 9999") Integer> publicationYear,
 
         @Schema(description = "Updated description of the book", example = "An updated comprehensive guide to Spring Boot development")
-        JsonNullable<String> description
+        JsonNullable<String> description,
+
+        @Schema(description = "Version the change is based on; the book is reported as conflicted when it has changed since",
+                example = "3")
+        Long version
 ) {
 }
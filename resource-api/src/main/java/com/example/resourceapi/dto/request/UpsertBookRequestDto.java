@@ -0,0 +1,39 @@
+package com.example.resourceapi.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Request data for creating a book under a client-supplied ID or replacing it if it exists")
+public record UpsertBookRequestDto(
+        @NotNull(message = "Id must not be null")
+        @Schema(description = "Client-supplied identifier of the book", example = "123e4567-e89b-12d3-a456-426614174000",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        UUID id,
+
+        @NotBlank(message = "Title is mandatory")
+        @Size(max = 255)
+        @Schema(description = "Title of the book", example = "Spring Boot in Action", requiredMode = Schema.RequiredMode.REQUIRED)
+        String title,
+
+        @Size(max = 255)
+        @Schema(description = "Author of the book", example = "Craig Walls", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+        String author,
+
+        @Min(1000)
+        @Max(9999)
+        @Schema(description = "Year the book was published", example = "2023", minimum = "1000", maximum = "9999", requiredMode = Schema.RequiredMode.REQUIRED)
+        Integer publicationYear,
+
+        @Size(max = 500)
+        @Schema(description = "Description of the book", example = "A comprehensive guide to Spring Boot development", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+        String description
+) {
+}
@@ -0,0 +1,27 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Type-ahead suggestions for a title or author prefix")
+public record AutocompleteResponseDto(
+        @Schema(description = "Field the suggestions were taken from", example = "title")
+        String field,
+
+        @Schema(description = "Suggestions carried by the most books first, ties in alphabetical order")
+        List<Suggestion> suggestions
+) {
+
+    @Schema(description = "A suggested title or author")
+    public record Suggestion(
+            @Schema(description = "Suggested value", example = "Spring Boot in Action")
+            String value,
+
+            @Schema(description = "Number of books with this value", example = "3")
+            int books
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Facet counts for the books matching the current filter")
+public record BookFacetsResponseDto(
+        @Schema(description = "Number of books per publication year, ordered by year; books without a year are counted under null")
+        List<YearCount> publicationYears,
+
+        @Schema(description = "Authors with the most books, ordered by count descending")
+        List<AuthorCount> topAuthors
+) {
+
+    @Schema(description = "Number of books published in a year")
+    public record YearCount(
+            @Schema(description = "Publication year", example = "2023")
+            Integer publicationYear,
+
+            @Schema(description = "Number of books", example = "42")
+            long count
+    ) {
+    }
+
+    @Schema(description = "Number of books written by an author")
+    public record AuthorCount(
+            @Schema(description = "Author name", example = "Craig Walls")
+            String author,
+
+            @Schema(description = "Number of books", example = "7")
+            long count
+    ) {
+    }
+}
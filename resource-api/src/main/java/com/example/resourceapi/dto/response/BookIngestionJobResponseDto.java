@@ -0,0 +1,57 @@
+package com.example.resourceapi.dto.response;
+
+import com.example.resourceapi.enums.IngestionJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Status and progress of an asynchronous book ingestion job")
+public record BookIngestionJobResponseDto(
+        @Schema(description = "Unique identifier of the job", example = "0192f1a4-8c3e-7d2a-9b41-5f0c2e7a1d33")
+        UUID id,
+
+        @Schema(description = "Current state of the job", example = "RUNNING")
+        IngestionJobStatus status,
+
+        @Schema(description = "Number of rows submitted", example = "50000")
+        int totalRows,
+
+        @Schema(description = "Number of rows processed so far, whether created or failed", example = "12000")
+        int processedRows,
+
+        @Schema(description = "Number of books created so far", example = "11998")
+        int createdRows,
+
+        @Schema(description = "Number of rows that could not be created", example = "2")
+        int failedRows,
+
+        @Schema(description = "Details of the first failed rows")
+        List<FailedRow> failedRowDetails,
+
+        @Schema(description = "Why the job stopped early; only set for failed jobs")
+        String error,
+
+        @Schema(description = "When the job was submitted", example = "2025-09-22T10:15:30.123456Z")
+        Instant createdAt,
+
+        @Schema(description = "When the job last made progress", example = "2025-09-22T10:16:02.654321Z")
+        Instant updatedAt,
+
+        @Schema(description = "When the job finished; null while it is queued or running")
+        Instant finishedAt
+) {
+
+    @Schema(description = "A row that could not be created")
+    public record FailedRow(
+            @Schema(description = "1-based position of the row in the submitted batch", example = "42")
+            long row,
+
+            @Schema(description = "Why the row failed", example = "[\"title: Title is mandatory\"]")
+            List<String> errors
+    ) {
+    }
+}
@@ -3,6 +3,7 @@ package com.example.resourceapi.dto.response;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Builder
@@ -21,6 +22,15 @@ public record CreateBookResponseDto(
         Integer publicationYear,
 
         @Schema(description = "Description of the book", example = "A comprehensive guide to Spring Boot development")
-        String description
+        String description,
+
+        @Schema(description = "When the book was created", example = "2025-09-22T10:15:30.123456Z")
+        Instant createdAt,
+
+        @Schema(description = "When the book was last changed", example = "2025-09-22T10:15:30.123456Z")
+        Instant updatedAt,
+
+        @Schema(description = "Version of the book, incremented on every change", example = "3")
+        Long version
 ) {
 }
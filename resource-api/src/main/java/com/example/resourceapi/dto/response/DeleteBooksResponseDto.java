@@ -0,0 +1,18 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Response data for bulk book deletion")
+public record DeleteBooksResponseDto(
+        @Schema(description = "Number of deleted books", example = "42")
+        int deletedCount,
+
+        @Schema(description = "List of requested book IDs that were not found; always empty when deleting by filter")
+        List<UUID> notFoundIds
+) {
+}
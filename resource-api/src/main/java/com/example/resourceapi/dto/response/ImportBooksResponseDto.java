@@ -0,0 +1,30 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Response data for a bulk book import")
+public record ImportBooksResponseDto(
+        @Schema(description = "Number of books imported", example = "100000")
+        long importedCount,
+
+        @Schema(description = "Number of rows skipped because they failed validation", example = "2")
+        long rejectedCount,
+
+        @Schema(description = "Details of the first rejected rows")
+        List<RejectedRow> rejectedRows
+) {
+
+    @Schema(description = "A row that failed validation")
+    public record RejectedRow(
+            @Schema(description = "1-based number of the data row in the upload", example = "42")
+            long row,
+
+            @Schema(description = "Validation errors of the row", example = "[\"title: Title is mandatory\"]")
+            List<String> errors
+    ) {
+    }
+}
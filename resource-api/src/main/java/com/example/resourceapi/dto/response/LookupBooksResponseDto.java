@@ -0,0 +1,18 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Response data for a multi-ID book lookup")
+public record LookupBooksResponseDto(
+        @Schema(description = "Found books in the order their IDs were requested; repeated IDs appear once")
+        List<CreateBookResponseDto> books,
+
+        @Schema(description = "List of requested book IDs that were not found")
+        List<UUID> notFoundIds
+) {
+}
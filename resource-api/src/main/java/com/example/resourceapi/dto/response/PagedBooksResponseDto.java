@@ -1,5 +1,6 @@
 package com.example.resourceapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 
@@ -7,15 +8,22 @@ import java.util.List;
 
 @Builder
 @Schema(description = "Paginated response containing books and pagination metadata")
-public record PagedBooksResponseDto(
-        @Schema(description = "List of books in the current page")
-        List<CreateBookResponseDto> books,
-
-        @Schema(description = "Total number of books matching the criteria", example = "150")
-        long totalElements,
-
-        @Schema(description = "Total number of pages", example = "15")
-        int totalPages,
+public record PagedBooksResponseDto<T>(
+        @Schema(description = "Books in the current page; with a fields parameter each holds only the requested fields")
+        List<T> books,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Total number of books matching the criteria, absent when totals were not requested", example = "150")
+        Long totalElements,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Total number of pages, absent when totals were not requested", example = "15")
+        Integer totalPages,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Whether totalElements is a planner estimate rather than an exact count, absent when totals were not requested",
+                example = "false")
+        Boolean totalElementsEstimated,
 
         @Schema(description = "Current page number (0-based)", example = "2")
         int currentPage,
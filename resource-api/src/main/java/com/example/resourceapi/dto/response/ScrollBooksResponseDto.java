@@ -0,0 +1,24 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Keyset-paginated response containing books and the token for the next slice")
+public record ScrollBooksResponseDto(
+        @Schema(description = "List of books in the current slice")
+        List<CreateBookResponseDto> books,
+
+        @Schema(description = "Number of items requested per slice", example = "10")
+        int pageSize,
+
+        @Schema(description = "Whether there are more books after this slice", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Opaque token to pass as 'token' to fetch the next slice, absent on the last slice",
+                example = "dGl0bGV8QVNDfDEyM2U0NTY3LWU4OWItMTJkMy1hNDU2LTQyNjYxNDE3NDAwMHxWU3ByaW5n")
+        String nextToken
+) {
+}
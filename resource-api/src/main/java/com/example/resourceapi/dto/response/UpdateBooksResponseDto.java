@@ -17,6 +17,9 @@ public record UpdateBooksResponseDto(
         String message,
 
         @Schema(description = "List of book IDs that were not found and could not be updated")
-        List<UUID> notUpdatedIds
+        List<UUID> notUpdatedIds,
+
+        @Schema(description = "List of book IDs that were changed or are being changed concurrently and were left untouched")
+        List<UUID> conflictedIds
 ) {
 }
@@ -0,0 +1,18 @@
+package com.example.resourceapi.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Response data for a bulk book upsert")
+public record UpsertBooksResponseDto(
+        @Schema(description = "IDs of the books that did not exist and were created")
+        List<UUID> insertedIds,
+
+        @Schema(description = "IDs of the existing books that were replaced")
+        List<UUID> updatedIds
+) {
+}
@@ -0,0 +1,57 @@
+package com.example.resourceapi.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDv7 ids (RFC 9562): a 48-bit Unix millisecond timestamp, then a 12-bit counter, then 62 random
+ * bits. New ids land at the right edge of the primary key index instead of on random pages.
+ * <p>
+ * Ids from one JVM are strictly increasing: the counter starts at a random value below 2048 each millisecond and
+ * is incremented within it; if it overflows, or the clock steps back, the timestamp is advanced past the last one.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    public static UUID next() {
+        long randomBits = RANDOM.nextLong();
+        long timestampAndCounter = nextTimestampAndCounter();
+
+        long mostSigBits = (timestampAndCounter & ~0xFFFFL) | 0x7000L | (timestampAndCounter & MAX_COUNTER);
+        long leastSigBits = (randomBits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static synchronized long nextTimestampAndCounter() {
+        long now = System.currentTimeMillis();
+        if (now > lastMillis) {
+            lastMillis = now;
+            counter = RANDOM.nextInt(MAX_COUNTER + 1 >> 1);
+        } else if (++counter > MAX_COUNTER) {
+            lastMillis++;
+            counter = 0;
+        }
+        return lastMillis << 16 | counter;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
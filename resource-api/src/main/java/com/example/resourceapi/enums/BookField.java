@@ -0,0 +1,48 @@
+package com.example.resourceapi.enums;
+
+import com.example.resourceapi.exception.InvalidBookFieldException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public enum BookField {
+    ID("id"),
+    TITLE("title"),
+    AUTHOR("author"),
+    PUBLICATION_YEAR("publicationYear"),
+    DESCRIPTION("description");
+
+    private final String property;
+
+    BookField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static BookField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidBookFieldException(property));
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter, keeping the requested order and dropping duplicates.
+     */
+    public static Set<BookField> parse(String fields) {
+        Set<BookField> parsed = new LinkedHashSet<>();
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                parsed.add(fromProperty(property.trim()));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidBookFieldException(fields);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.resourceapi.enums;
+
+public enum BookImportFormat {
+    CSV,
+    NDJSON
+}
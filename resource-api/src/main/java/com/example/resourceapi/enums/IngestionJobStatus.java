@@ -0,0 +1,8 @@
+package com.example.resourceapi.enums;
+
+public enum IngestionJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.example.resourceapi.enums;
+
+public enum TotalCountMode {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
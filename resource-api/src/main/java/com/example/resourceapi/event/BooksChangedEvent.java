@@ -0,0 +1,20 @@
+package com.example.resourceapi.event;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-process notification published after a write transaction commits. Carries the state of the
+ * affected books before ({@code previous}) and after ({@code current}) the change.
+ */
+public record BooksChangedEvent(EventType eventType,
+                                List<CreateBookResponseDto> previous,
+                                List<CreateBookResponseDto> current) {
+
+    public List<CreateBookResponseDto> changedBooks() {
+        return Stream.concat(previous.stream(), current.stream()).toList();
+    }
+}
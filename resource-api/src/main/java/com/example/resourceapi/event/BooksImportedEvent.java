@@ -0,0 +1,12 @@
+package com.example.resourceapi.event;
+
+import java.util.UUID;
+
+/**
+ * In-process notification published after a bulk import commits. Imports are too large to carry the
+ * books themselves, so listeners treat it as "anything may have changed". The imported ids are time-ordered
+ * and minted by one node, so they all lie between {@code firstId} and {@code lastId}; both are null when
+ * nothing was imported.
+ */
+public record BooksImportedEvent(long importedCount, UUID firstId, UUID lastId) {
+}
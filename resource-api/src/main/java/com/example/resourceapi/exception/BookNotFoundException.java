@@ -4,7 +4,8 @@ import java.util.UUID;
 
 public class BookNotFoundException extends RuntimeException {
     public BookNotFoundException(UUID id) {
-        super("Book not found with id: " + id);
+        // Misses are routine (and cheap to provoke), so no stack trace is captured
+        super("Book not found with id: " + id, null, false, false);
     }
 }
 
@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class IngestionCapacityExceededException extends RuntimeException {
+    public IngestionCapacityExceededException() {
+        super("Too many ingestion jobs are queued, retry later");
+    }
+}
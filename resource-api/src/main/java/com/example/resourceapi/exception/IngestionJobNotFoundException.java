@@ -0,0 +1,9 @@
+package com.example.resourceapi.exception;
+
+import java.util.UUID;
+
+public class IngestionJobNotFoundException extends RuntimeException {
+    public IngestionJobNotFoundException(UUID id) {
+        super("Ingestion job not found with id: " + id);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidBookFieldException extends RuntimeException {
+    public InvalidBookFieldException(String field) {
+        super("Unknown book field: " + field);
+    }
+}
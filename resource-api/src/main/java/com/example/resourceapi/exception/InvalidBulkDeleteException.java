@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidBulkDeleteException extends RuntimeException {
+    public InvalidBulkDeleteException(String detail) {
+        super("Invalid bulk delete: " + detail);
+    }
+}
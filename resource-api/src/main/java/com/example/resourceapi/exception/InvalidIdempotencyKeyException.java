@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String detail) {
+        super("Invalid Idempotency-Key: " + detail);
+    }
+}
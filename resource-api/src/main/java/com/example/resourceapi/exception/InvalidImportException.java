@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(long row, String detail) {
+        super("Malformed import row " + row + ": " + detail);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidIngestionJobException extends RuntimeException {
+    public InvalidIngestionJobException(String detail) {
+        super("Invalid ingestion job: " + detail);
+    }
+}
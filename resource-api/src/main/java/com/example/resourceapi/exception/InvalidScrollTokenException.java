@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidScrollTokenException extends RuntimeException {
+    public InvalidScrollTokenException(String token) {
+        super("Invalid scroll token: " + token);
+    }
+}
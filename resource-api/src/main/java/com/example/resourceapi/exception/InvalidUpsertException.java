@@ -0,0 +1,7 @@
+package com.example.resourceapi.exception;
+
+public class InvalidUpsertException extends RuntimeException {
+    public InvalidUpsertException(String detail) {
+        super("Invalid upsert: " + detail);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.resourceapi.rabbit.event;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcast to every resource-api replica after a write commits, so they apply it to their local book caches the
+ * same way the writing replica did. Books are sent without descriptions, which no cache matches on.
+ * {@code previous} and {@code current} are empty for bulk imports, whose books are not tracked individually;
+ * they report the range of their ids instead.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookCacheInvalidationEvent implements Serializable {
+    private String originNodeId;
+    private EventType eventType;
+    private List<CreateBookResponseDto> previous;
+    private List<CreateBookResponseDto> current;
+    private boolean bulkImport;
+    private long importedCount;
+    private UUID firstImportedId;
+    private UUID lastImportedId;
+
+    public BooksChangedEvent toBooksChangedEvent() {
+        return new BooksChangedEvent(eventType, previous, current);
+    }
+
+    public BooksImportedEvent toBooksImportedEvent() {
+        return new BooksImportedEvent(importedCount, firstImportedId, lastImportedId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.resourceapi.rabbit.listener;
+
+import com.example.resourceapi.cache.BookAutocompleteIndex;
+import com.example.resourceapi.cache.BookCountCache;
+import com.example.resourceapi.cache.BookEntityCache;
+import com.example.resourceapi.cache.BookIdBloomFilter;
+import com.example.resourceapi.cache.BookPageCache;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.rabbit.event.BookCacheInvalidationEvent;
+import com.example.resourceapi.rabbit.publisher.BookCacheInvalidationPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies writes committed on other replicas to this replica's book caches, through the same handlers that apply
+ * local changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCacheInvalidationListener {
+
+    private final BookCacheInvalidationPublisher bookCacheInvalidationPublisher;
+    private final BookEntityCache bookEntityCache;
+    private final BookPageCache bookPageCache;
+    private final BookCountCache bookCountCache;
+    private final BookIdBloomFilter bookIdBloomFilter;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+
+    @RabbitListener(queues = "#{bookCacheInvalidationQueue.name}")
+    public void onInvalidation(BookCacheInvalidationEvent event) {
+        if (bookCacheInvalidationPublisher.nodeId().equals(event.getOriginNodeId())) {
+            return;
+        }
+
+        log.debug("Received cache invalidation: {}", event);
+        if (event.isBulkImport()) {
+            BooksImportedEvent importedEvent = event.toBooksImportedEvent();
+            bookIdBloomFilter.onBooksImported(importedEvent);
+            bookPageCache.onBooksImported(importedEvent);
+            bookCountCache.onBooksImported(importedEvent);
+            bookAutocompleteIndex.onBooksImported(importedEvent);
+            return;
+        }
+
+        BooksChangedEvent changedEvent = event.toBooksChangedEvent();
+        bookIdBloomFilter.onBooksChanged(changedEvent);
+        bookEntityCache.onBooksChanged(changedEvent);
+        bookPageCache.onBooksChanged(changedEvent);
+        bookCountCache.onBooksChanged(changedEvent);
+        bookAutocompleteIndex.onBooksChanged(changedEvent);
+    }
+}
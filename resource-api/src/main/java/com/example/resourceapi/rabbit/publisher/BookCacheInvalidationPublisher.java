@@ -0,0 +1,77 @@
+package com.example.resourceapi.rabbit.publisher;
+
+import com.example.resourceapi.config.props.RabbitProperties;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.rabbit.event.BookCacheInvalidationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookCacheInvalidationPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RabbitProperties rabbitProperties;
+
+    // Lets a replica skip its own broadcasts, its caches were already updated in-process
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void publishChange(BooksChangedEvent event) {
+        publish(BookCacheInvalidationEvent.builder()
+                .originNodeId(nodeId)
+                .eventType(event.eventType())
+                .previous(withoutDescriptions(event.previous()))
+                .current(withoutDescriptions(event.current()))
+                .build());
+    }
+
+    public void publishImport(BooksImportedEvent event) {
+        publish(BookCacheInvalidationEvent.builder()
+                .originNodeId(nodeId)
+                .eventType(EventType.CREATE)
+                .previous(List.of())
+                .current(List.of())
+                .bulkImport(true)
+                .importedCount(event.importedCount())
+                .firstImportedId(event.firstId())
+                .lastImportedId(event.lastId())
+                .build());
+    }
+
+    // Descriptions make up most of a book and no cache matches on them; dropping them keeps bulk changes small
+    private static List<CreateBookResponseDto> withoutDescriptions(List<CreateBookResponseDto> books) {
+        return books.stream()
+                .map(book -> CreateBookResponseDto.builder()
+                        .id(book.id())
+                        .title(book.title())
+                        .author(book.author())
+                        .publicationYear(book.publicationYear())
+                        .createdAt(book.createdAt())
+                        .updatedAt(book.updatedAt())
+                        .version(book.version())
+                        .build())
+                .toList();
+    }
+
+    private void publish(BookCacheInvalidationEvent event) {
+        try {
+            // Fanout exchanges ignore the routing key
+            rabbitTemplate.convertAndSend(rabbitProperties.cacheExchangeName(), "", event);
+        } catch (Exception e) {
+            log.error("Failed to publish cache invalidation: {}", event, e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.repository.facet.BookFacetKey;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.repository.util.SearchPatternUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access to the {@code book_facet_count} aggregate, which keeps the number of books per (publication year, author).
+ * Writes do not update the aggregate: they append their deltas to {@code book_facet_delta}, so concurrent writers
+ * never wait on a shared aggregate row, and the log is folded into the aggregate in the background. Reads add the
+ * unfolded deltas, so they stay exact. Filters without a title can be answered from the aggregate alone; title
+ * filters fall back to grouping the book table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookFacetJdbcRepository {
+
+    private static final String APPEND_DELTA = "INSERT INTO book_facet_delta (publication_year, author, delta) VALUES (?, ?, ?)";
+    // One statement, so taking the deltas and adding them commit together; rows another fold is taking are skipped
+    private static final String FOLD_DELTAS = "WITH taken AS (" +
+            "DELETE FROM book_facet_delta WHERE id IN (SELECT id FROM book_facet_delta LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING publication_year, author, delta), " +
+            "folded AS (INSERT INTO book_facet_count (publication_year, author, book_count) " +
+            "SELECT publication_year, author, SUM(delta) FROM taken GROUP BY publication_year, author " +
+            // Concurrent folds lock aggregate rows in the same order and cannot deadlock
+            "ORDER BY publication_year NULLS FIRST, author NULLS FIRST " +
+            "ON CONFLICT ON CONSTRAINT uq_book_facet_count " +
+            "DO UPDATE SET book_count = book_facet_count.book_count + EXCLUDED.book_count) " +
+            "SELECT COUNT(*) FROM taken";
+    private static final String FACET_COUNTS = "(SELECT publication_year, author, book_count FROM book_facet_count " +
+            "UNION ALL SELECT publication_year, author, delta FROM book_facet_delta) facet";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends the deltas to the log in the caller's transaction, so they commit or roll back with the books.
+     */
+    public void appendDeltas(Map<BookFacetKey, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getKey().publicationYear(), delta.getKey().author(), delta.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(APPEND_DELTA, args, new int[]{Types.INTEGER, Types.VARCHAR, Types.BIGINT});
+    }
+
+    /**
+     * Moves up to {@code batchSize} logged deltas into the aggregate.
+     *
+     * @return number of folded deltas
+     */
+    public int foldDeltas(int batchSize) {
+        Integer folded = jdbcTemplate.queryForObject(FOLD_DELTAS, Integer.class, batchSize);
+        return folded == null ? 0 : folded;
+    }
+
+    public List<BookFacetsResponseDto.YearCount> countByPublicationYear(BookFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String sql = filter.title() == null
+                ? "SELECT publication_year, SUM(book_count) AS book_count FROM " + FACET_COUNTS
+                + aggregateWhereClause(filter, args, false) + " GROUP BY publication_year HAVING SUM(book_count) > 0"
+                : "SELECT publication_year, COUNT(*) AS book_count FROM book"
+                + BookJdbcRepository.whereClause(filter, args) + " GROUP BY publication_year";
+
+        return jdbcTemplate.query(sql + " ORDER BY publication_year",
+                (rs, rowNum) -> new BookFacetsResponseDto.YearCount(
+                        rs.getObject("publication_year", Integer.class), rs.getLong("book_count")),
+                args.toArray());
+    }
+
+    public List<BookFacetsResponseDto.AuthorCount> findTopAuthors(BookFilter filter, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql;
+        if (filter.title() == null) {
+            sql = "SELECT author, SUM(book_count) AS book_count FROM " + FACET_COUNTS
+                    + aggregateWhereClause(filter, args, true) + " GROUP BY author HAVING SUM(book_count) > 0";
+        } else {
+            String where = BookJdbcRepository.whereClause(filter, args);
+            sql = "SELECT author, COUNT(*) AS book_count FROM book"
+                    + (where.isEmpty() ? " WHERE " : where + " AND ") + "author IS NOT NULL GROUP BY author";
+        }
+        args.add(limit);
+
+        return jdbcTemplate.query(sql + " ORDER BY book_count DESC, author LIMIT ?",
+                (rs, rowNum) -> new BookFacetsResponseDto.AuthorCount(rs.getString("author"), rs.getLong("book_count")),
+                args.toArray());
+    }
+
+    private static String aggregateWhereClause(BookFilter filter, List<Object> args, boolean authorRequired) {
+        // Rows whose books were all deleted or updated away stay behind with a zero count; the caller's HAVING drops them
+        List<String> predicates = new ArrayList<>();
+        if (authorRequired) {
+            predicates.add("author IS NOT NULL");
+        }
+        if (filter.author() != null) {
+            predicates.add("lower(author) LIKE ?");
+            args.add(SearchPatternUtil.toContainsPattern(filter.author()));
+        }
+        if (filter.publicationYear() != null) {
+            predicates.add("publication_year = ?");
+            args.add(filter.publicationYear());
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.repository.idempotency.IdempotentCreation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Dedupe table of create requests by {@code Idempotency-Key}. Expiry is judged by the database clock, so every
+ * node agrees on which keys are still live.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookIdempotencyJdbcRepository {
+
+    private static final TypeReference<List<CreateBookResponseDto>> BOOKS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Optional<IdempotentCreation> findLive(String key, Duration ttl) {
+        return jdbcTemplate.query("SELECT request_hash, response, created_at FROM book_idempotency_key " +
+                                "WHERE idempotency_key = ? AND created_at > now() - ? * INTERVAL '1 second'",
+                        (rs, rowNum) -> new IdempotentCreation(rs.getString("request_hash"),
+                                fromJson(rs.getString("response")), rs.getTimestamp("created_at").toInstant()),
+                        key, ttl.toSeconds())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Stores the outcome under the key unless a live entry exists; an expired entry that was not purged yet is
+     * replaced. Runs in the caller's transaction, so the key only becomes visible together with the created books,
+     * and a concurrent claim of the same key waits for that transaction to end.
+     *
+     * @return whether the key was claimed
+     */
+    public boolean claim(String key, String requestHash, List<CreateBookResponseDto> books, Duration ttl) {
+        return jdbcTemplate.update("INSERT INTO book_idempotency_key (idempotency_key, request_hash, response) " +
+                        "VALUES (?, ?, ?::jsonb) ON CONFLICT (idempotency_key) DO UPDATE " +
+                        "SET request_hash = EXCLUDED.request_hash, response = EXCLUDED.response, created_at = now() " +
+                        "WHERE book_idempotency_key.created_at <= now() - ? * INTERVAL '1 second'",
+                key, requestHash, toJson(books), ttl.toSeconds()) > 0;
+    }
+
+    /**
+     * Deletes up to {@code batchSize} expired keys in one short statement; rows another purge is deleting are skipped.
+     *
+     * @return number of deleted keys
+     */
+    public int deleteExpired(Duration ttl, int batchSize) {
+        return jdbcTemplate.update("DELETE FROM book_idempotency_key WHERE idempotency_key IN (" +
+                        "SELECT idempotency_key FROM book_idempotency_key " +
+                        "WHERE created_at <= now() - ? * INTERVAL '1 second' LIMIT ? FOR UPDATE SKIP LOCKED)",
+                ttl.toSeconds(), batchSize);
+    }
+
+    private String toJson(List<CreateBookResponseDto> books) {
+        try {
+            return objectMapper.writeValueAsString(books);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write idempotent response", e);
+        }
+    }
+
+    private List<CreateBookResponseDto> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, BOOKS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read idempotent response", e);
+        }
+    }
+}
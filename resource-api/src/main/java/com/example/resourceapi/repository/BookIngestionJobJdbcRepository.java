@@ -0,0 +1,128 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
+import com.example.resourceapi.enums.IngestionJobStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Status rows of asynchronous ingestion jobs. They live in the database rather than in memory so a job can be
+ * polled through any node behind the load balancer.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookIngestionJobJdbcRepository {
+
+    private static final TypeReference<List<BookIngestionJobResponseDto.FailedRow>> FAILED_ROWS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void create(UUID id, int totalRows) {
+        jdbcTemplate.update("INSERT INTO book_ingestion_job (id, status, total_rows) VALUES (?, ?, ?)",
+                id, IngestionJobStatus.QUEUED.name(), totalRows);
+    }
+
+    public void delete(UUID id) {
+        jdbcTemplate.update("DELETE FROM book_ingestion_job WHERE id = ?", id);
+    }
+
+    public void markRunning(UUID id) {
+        jdbcTemplate.update("UPDATE book_ingestion_job SET status = ?, updated_at = now() WHERE id = ?",
+                IngestionJobStatus.RUNNING.name(), id);
+    }
+
+    /**
+     * Adds the outcome of one chunk to the job's counters and appends the failures worth reporting.
+     */
+    public void recordProgress(UUID id, int processedRows, int createdRows, int failedRows,
+                               List<BookIngestionJobResponseDto.FailedRow> reportedFailures) {
+        jdbcTemplate.update("UPDATE book_ingestion_job SET processed_rows = processed_rows + ?, " +
+                        "created_rows = created_rows + ?, failed_rows = failed_rows + ?, " +
+                        "failed_row_details = failed_row_details || ?::jsonb, updated_at = now() WHERE id = ?",
+                processedRows, createdRows, failedRows, toJson(reportedFailures), id);
+    }
+
+    public void finish(UUID id, IngestionJobStatus status, String error) {
+        jdbcTemplate.update("UPDATE book_ingestion_job SET status = ?, error = ?, updated_at = now(), finished_at = now() " +
+                "WHERE id = ?", status.name(), error, id);
+    }
+
+    public Optional<BookIngestionJobResponseDto> findById(UUID id) {
+        return jdbcTemplate.query("SELECT * FROM book_ingestion_job WHERE id = ?", this::mapJob, id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Removes jobs that finished longer than {@code retention} ago.
+     *
+     * @return number of removed jobs
+     */
+    public int deleteFinishedBefore(Duration retention) {
+        return jdbcTemplate.update("DELETE FROM book_ingestion_job WHERE finished_at < ?",
+                Timestamp.from(Instant.now().minus(retention)));
+    }
+
+    /**
+     * Fails queued and running jobs that recorded no progress for {@code staleAfter}.
+     *
+     * @return number of failed jobs
+     */
+    public int failStale(Duration staleAfter, String error) {
+        return jdbcTemplate.update("UPDATE book_ingestion_job SET status = ?, error = ?, updated_at = now(), finished_at = now() " +
+                        "WHERE status IN (?, ?) AND updated_at < ?",
+                IngestionJobStatus.FAILED.name(), error, IngestionJobStatus.QUEUED.name(), IngestionJobStatus.RUNNING.name(),
+                Timestamp.from(Instant.now().minus(staleAfter)));
+    }
+
+    private BookIngestionJobResponseDto mapJob(ResultSet rs, int rowNum) throws SQLException {
+        return BookIngestionJobResponseDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .status(IngestionJobStatus.valueOf(rs.getString("status")))
+                .totalRows(rs.getInt("total_rows"))
+                .processedRows(rs.getInt("processed_rows"))
+                .createdRows(rs.getInt("created_rows"))
+                .failedRows(rs.getInt("failed_rows"))
+                .failedRowDetails(fromJson(rs.getString("failed_row_details")))
+                .error(rs.getString("error"))
+                .createdAt(toInstant(rs.getTimestamp("created_at")))
+                .updatedAt(toInstant(rs.getTimestamp("updated_at")))
+                .finishedAt(toInstant(rs.getTimestamp("finished_at")))
+                .build();
+    }
+
+    private String toJson(List<BookIngestionJobResponseDto.FailedRow> failedRows) {
+        try {
+            return objectMapper.writeValueAsString(failedRows);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write failed rows", e);
+        }
+    }
+
+    private List<BookIngestionJobResponseDto.FailedRow> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, FAILED_ROWS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read failed rows", e);
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
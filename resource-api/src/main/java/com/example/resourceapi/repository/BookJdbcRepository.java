@@ -0,0 +1,363 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.repository.copy.BookCopyIn;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.repository.upsert.UpsertedBook;
+import com.example.resourceapi.repository.util.SearchPatternUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL-specific access to the book table for operations that JPA cannot express efficiently.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookJdbcRepository {
+
+    private static final int STREAM_FETCH_SIZE = 5_000;
+
+    private static final String BOOK_COLUMNS = "id, title, author, publication_year, description, created_at, updated_at, version";
+
+    private static final RowMapper<CreateBookResponseDto> BOOK_ROW_MAPPER = (rs, rowNum) -> CreateBookResponseDto.builder()
+            .id(rs.getObject("id", UUID.class))
+            .title(rs.getString("title"))
+            .author(rs.getString("author"))
+            .publicationYear(rs.getObject("publication_year", Integer.class))
+            .description(rs.getString("description"))
+            .createdAt(toInstant(rs.getTimestamp("created_at")))
+            .updatedAt(toInstant(rs.getTimestamp("updated_at")))
+            .version(rs.getObject("version", Long.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Planner statistics for the whole table; negative when the table has never been analyzed.
+     */
+    public long estimateTotalBooks() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = 'book'::regclass", Long.class);
+        return estimate == null ? -1 : estimate;
+    }
+
+    /**
+     * Row estimate of the planner for the filtered query, without executing it.
+     */
+    public long estimateMatchingBooks(BookFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM book" + whereClause(filter, args), String.class, args.toArray());
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong(-1);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read query plan", e);
+        }
+    }
+
+    /**
+     * Streams title and author of every book without materializing the table in memory.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTitleAndAuthor(BiConsumer<String, String> consumer) {
+        // The PostgreSQL driver only uses a cursor for the fetch size inside a transaction
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT title, author FROM book");
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString("title"), rs.getString("author")));
+    }
+
+    /**
+     * Streams the id of every book.
+     */
+    @Transactional(readOnly = true)
+    public void forEachId(Consumer<UUID> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM book");
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject("id", UUID.class)));
+    }
+
+    /**
+     * Streams the id of every book between {@code fromId} and {@code toId}, both inclusive, along the primary key.
+     */
+    @Transactional(readOnly = true)
+    public void forEachIdBetween(UUID fromId, UUID toId, Consumer<UUID> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM book WHERE id BETWEEN ? AND ?");
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setObject(1, fromId);
+            statement.setObject(2, toId);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject("id", UUID.class)));
+    }
+
+    /**
+     * Streams every book matching the filter through a server-side cursor; the consumer runs while the
+     * cursor is open, so memory use does not depend on the number of rows.
+     */
+    @Transactional(readOnly = true)
+    public void forEachBook(BookFilter filter, Consumer<CreateBookResponseDto> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM book" + whereClause(filter, args);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(BOOK_ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    /**
+     * Reads only the modification time of a book, enough to answer a conditional request without the full row.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> findUpdatedAt(UUID id) {
+        return jdbcTemplate.query("SELECT updated_at FROM book WHERE id = ?",
+                        (rs, rowNum) -> toInstant(rs.getTimestamp("updated_at")), id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Locks the given books until the surrounding transaction ends, waiting for other writers, and returns their
+     * current state. Rows are locked in id order, so concurrent bulk writers cannot deadlock on each other.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreateBookResponseDto> lockAllById(Collection<UUID> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + BOOK_COLUMNS + " FROM book WHERE id = ANY (?) ORDER BY id FOR UPDATE");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray(UUID[]::new)));
+            return statement;
+        }, BOOK_ROW_MAPPER);
+    }
+
+    /**
+     * Locks those of the given books that no other transaction holds until the surrounding transaction ends and
+     * returns their current state. Books locked elsewhere are skipped instead of waited for.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreateBookResponseDto> lockAvailableById(Collection<UUID> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + BOOK_COLUMNS + " FROM book WHERE id = ANY (?) ORDER BY id FOR UPDATE SKIP LOCKED");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray(UUID[]::new)));
+            return statement;
+        }, BOOK_ROW_MAPPER);
+    }
+
+    /**
+     * Returns which of the given ids belong to an existing book, without taking or waiting for row locks.
+     */
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        return Set.copyOf(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id FROM book WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray(UUID[]::new)));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class)));
+    }
+
+    /**
+     * Returns the version of each of the given books that exists; absent books are missing from the map.
+     */
+    public Map<UUID, Long> findVersions(Collection<UUID> ids) {
+        Map<UUID, Long> versions = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id, version FROM book WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray(UUID[]::new)));
+            return statement;
+        }, (RowCallbackHandler) rs -> versions.put(rs.getObject("id", UUID.class), rs.getObject("version", Long.class)));
+        return versions;
+    }
+
+    /**
+     * Applies patches that all set exactly {@code fields} with a single {@code UPDATE ... FROM unnest(...)} and
+     * returns the patched rows. Each column travels as one array parameter, so the statement does not grow with
+     * the number of patches and stays clear of the bind parameter limit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreateBookResponseDto> patchAll(Set<BookField> fields, List<UpdateBookRequestDto> patches) {
+        List<BookField> columns = List.copyOf(fields);
+
+        StringBuilder sql = new StringBuilder("UPDATE book b SET ");
+        for (BookField field : columns) {
+            sql.append(column(field)).append(" = v.").append(column(field)).append(", ");
+        }
+        sql.append("updated_at = now(), version = b.version + 1 FROM unnest(?::uuid[]");
+        for (BookField field : columns) {
+            sql.append(", ?::").append(arrayType(field)).append("[]");
+        }
+        sql.append(") AS v(id");
+        for (BookField field : columns) {
+            sql.append(", ").append(column(field));
+        }
+        sql.append(") WHERE b.id = v.id RETURNING ")
+                .append(Arrays.stream(BOOK_COLUMNS.split(", ")).map(column -> "b." + column).collect(Collectors.joining(", ")));
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setArray(1, connection.createArrayOf("uuid", patches.stream().map(UpdateBookRequestDto::id).toArray(UUID[]::new)));
+            for (int i = 0; i < columns.size(); i++) {
+                BookField field = columns.get(i);
+                Object[] values = field == BookField.PUBLICATION_YEAR
+                        ? patches.stream().map(patch -> patch.publicationYear().get()).toArray(Integer[]::new)
+                        : patches.stream().map(patch -> (String) patchValue(field, patch)).toArray(String[]::new);
+                statement.setArray(i + 2, connection.createArrayOf(arrayType(field), values));
+            }
+            return statement;
+        }, BOOK_ROW_MAPPER);
+    }
+
+    /**
+     * Inserts the books with {@code INSERT ... ON CONFLICT (id) DO UPDATE} and returns the written rows. Only conflicts
+     * on {@code replaceableIds}, the books the caller has locked and knows the previous state of, are updated; books
+     * inserted concurrently under one of the other ids are left alone and missing from the result.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UpsertedBook> upsertAll(List<UpsertBookRequestDto> books, Collection<UUID> replaceableIds) {
+        String sql = "INSERT INTO book AS b (id, title, author, publication_year, description) " +
+                "SELECT * FROM unnest(?::uuid[], ?::text[], ?::text[], ?::int4[], ?::text[]) " +
+                "ON CONFLICT (id) DO UPDATE SET title = EXCLUDED.title, author = EXCLUDED.author, " +
+                "publication_year = EXCLUDED.publication_year, description = EXCLUDED.description, " +
+                "updated_at = now(), version = b.version + 1 " +
+                "WHERE b.id = ANY (?) " +
+                "RETURNING " + Arrays.stream(BOOK_COLUMNS.split(", ")).map(column -> "b." + column).collect(Collectors.joining(", ")) +
+                ", b.xmax = 0 AS inserted";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("uuid", books.stream().map(UpsertBookRequestDto::id).toArray(UUID[]::new)));
+            statement.setArray(2, connection.createArrayOf("text", books.stream().map(UpsertBookRequestDto::title).toArray(String[]::new)));
+            statement.setArray(3, connection.createArrayOf("text", books.stream().map(UpsertBookRequestDto::author).toArray(String[]::new)));
+            statement.setArray(4, connection.createArrayOf("int4", books.stream().map(UpsertBookRequestDto::publicationYear).toArray(Integer[]::new)));
+            statement.setArray(5, connection.createArrayOf("text", books.stream().map(UpsertBookRequestDto::description).toArray(String[]::new)));
+            statement.setArray(6, connection.createArrayOf("uuid", replaceableIds.toArray(UUID[]::new)));
+            return statement;
+        }, (rs, rowNum) -> new UpsertedBook(BOOK_ROW_MAPPER.mapRow(rs, rowNum), rs.getBoolean("inserted")));
+    }
+
+    /**
+     * Deletes the given books with a single statement and returns the deleted rows; ids without a book are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreateBookResponseDto> deleteAllById(Collection<UUID> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM book WHERE id = ANY (?) RETURNING " + BOOK_COLUMNS);
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray(UUID[]::new)));
+            return statement;
+        }, BOOK_ROW_MAPPER);
+    }
+
+    /**
+     * Deletes every book matching the filter with a single statement and returns the deleted rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreateBookResponseDto> deleteAllMatching(BookFilter filter) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("Refusing to delete books without a filter");
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = "DELETE FROM book" + whereClause(filter, args) + " RETURNING " + BOOK_COLUMNS;
+        return jdbcTemplate.query(sql, BOOK_ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Starts a {@code COPY book FROM STDIN} on the connection of the surrounding transaction, so the copied rows
+     * commit or roll back together with the rest of the caller's work.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BookCopyIn beginCopy() {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(BookCopyIn.COPY_SQL);
+            return new BookCopyIn(copyIn, connection, dataSource, jdbcTemplate.getExceptionTranslator());
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY book", BookCopyIn.COPY_SQL, e);
+        }
+    }
+
+    static String whereClause(BookFilter filter, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.title() != null) {
+            predicates.add("lower(title) LIKE ?");
+            args.add(SearchPatternUtil.toContainsPattern(filter.title()));
+        }
+        if (filter.author() != null) {
+            predicates.add("lower(author) LIKE ?");
+            args.add(SearchPatternUtil.toContainsPattern(filter.author()));
+        }
+        if (filter.publicationYear() != null) {
+            predicates.add("publication_year = ?");
+            args.add(filter.publicationYear());
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static String column(BookField field) {
+        return switch (field) {
+            case TITLE -> "title";
+            case AUTHOR -> "author";
+            case PUBLICATION_YEAR -> "publication_year";
+            case DESCRIPTION -> "description";
+            case ID -> throw new IllegalArgumentException("Book id cannot be patched");
+        };
+    }
+
+    private static String arrayType(BookField field) {
+        return field == BookField.PUBLICATION_YEAR ? "int4" : "text";
+    }
+
+    private static Object patchValue(BookField field, UpdateBookRequestDto patch) {
+        return switch (field) {
+            case TITLE -> patch.title().get();
+            case AUTHOR -> patch.author().get();
+            case PUBLICATION_YEAR -> patch.publicationYear().get();
+            case DESCRIPTION -> patch.description().get();
+            case ID -> throw new IllegalArgumentException("Book id cannot be patched");
+        };
+    }
+}
@@ -1,25 +1,38 @@
 package com.example.resourceapi.repository;
 
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
 import com.example.resourceapi.entity.Book;
-import org.springframework.data.domain.Page;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.repository.specification.BookSpecifications;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID> {
+public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
 
-    @Query("SELECT b FROM Book b WHERE " +
-            "(:title IS NULL OR (:title = '' AND b.title = '') OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
-            "(:author IS NULL OR (:author = '' AND b.author = '') OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
-            "(:publicationYear IS NULL OR b.publicationYear = :publicationYear)")
-    Page<Book> findBooksWithFilters(@Param("title") String title,
-                                    @Param("author") String author,
-                                    @Param("publicationYear") Integer publicationYear,
-                                    Pageable pageable);
-}
+    // Only the filters actually present become predicates, so every filter combination gets its own statement
+    default Slice<Book> findBookSliceWithFilters(String title,
+                                                 String author,
+                                                 Integer publicationYear,
+                                                 Pageable pageable) {
+        return findSlice(BookSpecifications.withFilters(title, author, publicationYear), pageable);
+    }
+
+    default Slice<BookFieldsResponseDto> findBookFieldSliceWithFilters(String title,
+                                                                       String author,
+                                                                       Integer publicationYear,
+                                                                       Set<BookField> fields,
+                                                                       Pageable pageable) {
+        return findSlice(BookSpecifications.withFilters(title, author, publicationYear), fields, pageable);
+    }
 
+    default long countBooksWithFilters(String title, String author, Integer publicationYear) {
+        return count(BookSpecifications.withFilters(title, author, publicationYear));
+    }
+}
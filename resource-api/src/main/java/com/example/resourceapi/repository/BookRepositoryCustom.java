@@ -0,0 +1,17 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.enums.BookField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+public interface BookRepositoryCustom {
+
+    Slice<Book> findSlice(Specification<Book> specification, Pageable pageable);
+
+    Slice<BookFieldsResponseDto> findSlice(Specification<Book> specification, Set<BookField> fields, Pageable pageable);
+}
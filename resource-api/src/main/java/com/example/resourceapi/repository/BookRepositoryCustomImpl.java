@@ -0,0 +1,95 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.enums.BookField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Book> findSlice(Specification<Book> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(root);
+        applySpecification(query, root, cb, specification, pageable);
+
+        return toSlice(entityManager.createQuery(query), pageable);
+    }
+
+    @Override
+    public Slice<BookFieldsResponseDto> findSlice(Specification<Book> specification,
+                                                  Set<BookField> fields,
+                                                  Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+
+        // Scalar selection only: the rows never become managed entities, so no snapshot is kept for dirty checking
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.property()).alias(field.property()))
+                .toList();
+        query.multiselect(selections);
+        applySpecification(query, root, cb, specification, pageable);
+
+        return toSlice(entityManager.createQuery(query), pageable).map(tuple -> toBookFields(tuple, fields));
+    }
+
+    private static void applySpecification(CriteriaQuery<?> query,
+                                           Root<Book> root,
+                                           CriteriaBuilder cb,
+                                           Specification<Book> specification,
+                                           Pageable pageable) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+
+    private static BookFieldsResponseDto toBookFields(Tuple tuple, Set<BookField> fields) {
+        BookFieldsResponseDto.BookFieldsResponseDtoBuilder book = BookFieldsResponseDto.builder();
+        for (BookField field : fields) {
+            switch (field) {
+                case ID -> book.id(tuple.get(field.property(), UUID.class));
+                case TITLE -> book.title(tuple.get(field.property(), String.class));
+                case AUTHOR -> book.author(tuple.get(field.property(), String.class));
+                case PUBLICATION_YEAR -> book.publicationYear(tuple.get(field.property(), Integer.class));
+                case DESCRIPTION -> book.description(tuple.get(field.property(), String.class));
+            }
+        }
+        return book.build();
+    }
+
+    private static <T> Slice<T> toSlice(TypedQuery<T> query, Pageable pageable) {
+        // One extra row tells whether a next slice exists without a count query
+        List<T> content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.resourceapi.repository.copy;
+
+import com.example.resourceapi.entity.Book;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * An open {@code COPY book FROM STDIN} on the transaction's connection. Rows are encoded as CSV and sent in
+ * large chunks; closing without {@link #finish()} cancels the copy.
+ */
+public class BookCopyIn implements AutoCloseable {
+
+    public static final String COPY_SQL =
+            "COPY book (id, title, author, publication_year, description) FROM STDIN WITH (FORMAT csv)";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final Connection connection;
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE + 1024);
+
+    public BookCopyIn(CopyIn copyIn, Connection connection, DataSource dataSource, SQLExceptionTranslator exceptionTranslator) {
+        this.copyIn = copyIn;
+        this.connection = connection;
+        this.dataSource = dataSource;
+        this.exceptionTranslator = exceptionTranslator;
+    }
+
+    public void write(Book book) {
+        appendValue(book.getId().toString()).append(',');
+        appendValue(book.getTitle()).append(',');
+        appendValue(book.getAuthor()).append(',');
+        appendValue(book.getPublicationYear() == null ? null : book.getPublicationYear().toString()).append(',');
+        appendValue(book.getDescription()).append('\n');
+        if (buffer.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the remaining rows and completes the copy.
+     *
+     * @return number of rows inserted
+     */
+    public long finish() {
+        flush();
+        try {
+            return copyIn.endCopy();
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY book", COPY_SQL, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY book", COPY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] chunk = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.setLength(0);
+        try {
+            copyIn.writeToCopy(chunk, 0, chunk.length);
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY book", COPY_SQL, e);
+        }
+    }
+
+    // In CSV format an unquoted empty field is NULL, a quoted one is an empty string
+    private StringBuilder appendValue(String value) {
+        if (value == null) {
+            return buffer;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+}
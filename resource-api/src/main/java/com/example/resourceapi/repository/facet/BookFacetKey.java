@@ -0,0 +1,7 @@
+package com.example.resourceapi.repository.facet;
+
+/**
+ * Grouping key of the {@code book_facet_count} aggregate.
+ */
+public record BookFacetKey(Integer publicationYear, String author) {
+}
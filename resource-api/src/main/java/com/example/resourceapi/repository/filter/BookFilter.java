@@ -0,0 +1,40 @@
+package com.example.resourceapi.repository.filter;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Normalized listing filter. Title and author are matched case-insensitively, so they are lower-cased
+ * up front and equivalent requests share cache entries.
+ */
+public record BookFilter(String title, String author, Integer publicationYear) {
+
+    public static BookFilter of(String title, String author, Integer publicationYear) {
+        return new BookFilter(normalize(title), normalize(author), publicationYear);
+    }
+
+    public boolean isEmpty() {
+        return title == null && author == null && publicationYear == null;
+    }
+
+    public boolean matches(CreateBookResponseDto book) {
+        return contains(book.title(), title)
+                && contains(book.author(), author)
+                && (publicationYear == null || publicationYear.equals(book.publicationYear()));
+    }
+
+    public boolean matchesAny(Collection<CreateBookResponseDto> books) {
+        return books.stream().filter(Objects::nonNull).anyMatch(this::matches);
+    }
+
+    private static boolean contains(String value, String fragment) {
+        return fragment == null || (value != null && value.toLowerCase(Locale.ROOT).contains(fragment));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
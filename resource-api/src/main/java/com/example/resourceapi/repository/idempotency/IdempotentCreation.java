@@ -0,0 +1,12 @@
+package com.example.resourceapi.repository.idempotency;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of a create request stored under its idempotency key, along with a fingerprint of the request body.
+ */
+public record IdempotentCreation(String requestHash, List<CreateBookResponseDto> books, Instant createdAt) {
+}
@@ -0,0 +1,82 @@
+package com.example.resourceapi.repository.specification;
+
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.repository.util.BookScrollCursor;
+import com.example.resourceapi.repository.util.SearchPatternUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+public class BookSpecifications {
+
+    public static Specification<Book> withFilters(String title, String author, Integer publicationYear) {
+        return Specification.where(titleContains(title))
+                .and(authorContains(author))
+                .and(publishedIn(publicationYear));
+    }
+
+    public static Specification<Book> titleContains(String title) {
+        return title == null ? null : (root, query, cb) ->
+                cb.like(cb.lower(root.get("title")), SearchPatternUtil.toContainsPattern(title));
+    }
+
+    public static Specification<Book> authorContains(String author) {
+        return author == null ? null : (root, query, cb) ->
+                cb.like(cb.lower(root.get("author")), SearchPatternUtil.toContainsPattern(author));
+    }
+
+    public static Specification<Book> publishedIn(Integer publicationYear) {
+        return publicationYear == null ? null : (root, query, cb) ->
+                cb.equal(root.get("publicationYear"), publicationYear);
+    }
+
+    /**
+     * Seeks past the cursor position within its null/non-null section of the sort key, mirroring PostgreSQL's
+     * default null ordering (NULLS LAST for ascending, NULLS FIRST for descending) so the order matches the btree
+     * indexes. A non-null key is bounded by {@code key >= value} (or {@code <=}), which the (key, id) indexes
+     * can use as an index condition; the rows of the following section come from {@link #sectionAfter}.
+     */
+    public static Specification<Book> seekAfter(BookScrollCursor cursor) {
+        boolean ascending = cursor.direction() == Sort.Direction.ASC;
+        return (root, query, cb) -> switch (cursor.sortField()) {
+            case "publicationYear" -> seek(cb, root.<Integer>get("publicationYear"),
+                    cursor.sortValue() == null ? null : Integer.valueOf(cursor.sortValue()),
+                    root.<UUID>get("id"), cursor.id(), ascending);
+            case "author" -> seek(cb, root.<String>get("author"), cursor.sortValue(), root.<UUID>get("id"), cursor.id(), ascending);
+            default -> seek(cb, root.<String>get("title"), cursor.sortValue(), root.<UUID>get("id"), cursor.id(), ascending);
+        };
+    }
+
+    /**
+     * Rows of the section that follows the cursor's one in the sort order, or null when the cursor is already in
+     * the last section: the null keys after non-null ones when ascending, the non-null keys after null ones when
+     * descending.
+     */
+    public static Specification<Book> sectionAfter(BookScrollCursor cursor) {
+        boolean ascending = cursor.direction() == Sort.Direction.ASC;
+        if (ascending == (cursor.sortValue() == null)) {
+            return null;
+        }
+        return (root, query, cb) -> ascending
+                ? cb.isNull(root.get(cursor.sortField()))
+                : cb.isNotNull(root.get(cursor.sortField()));
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb,
+                                                                    Path<Y> key,
+                                                                    Y value,
+                                                                    Path<UUID> id,
+                                                                    UUID lastId,
+                                                                    boolean ascending) {
+        if (value == null) {
+            return cb.and(cb.isNull(key), ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId));
+        }
+        return ascending
+                ? cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), cb.greaterThan(id, lastId)))
+                : cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), cb.lessThan(id, lastId)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.resourceapi.repository.upsert;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+
+/**
+ * A row written by an upsert, with whether it was inserted rather than updated.
+ */
+public record UpsertedBook(CreateBookResponseDto book, boolean inserted) {
+}
@@ -0,0 +1,57 @@
+package com.example.resourceapi.repository.util;
+
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.exception.InvalidScrollTokenException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last book returned by a scroll request: the sort key of that book plus its id as a
+ * tie breaker. Encoded into an opaque URL-safe token handed back to the client.
+ */
+public record BookScrollCursor(String sortField, Sort.Direction direction, String sortValue, UUID id) {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_MARKER = "N";
+    private static final String VALUE_MARKER = "V";
+
+    public static BookScrollCursor after(Book book, String sortField, Sort.Direction direction) {
+        Object value = switch (sortField) {
+            case "author" -> book.getAuthor();
+            case "publicationYear" -> book.getPublicationYear();
+            default -> book.getTitle();
+        };
+        return new BookScrollCursor(sortField, direction, value == null ? null : value.toString(), book.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortField, direction.name(), id.toString(),
+                sortValue == null ? NULL_MARKER : VALUE_MARKER + sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookScrollCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4 || !PageableUtil.ALLOWED_SORT_FIELDS.contains(parts[0])) {
+                throw new InvalidScrollTokenException(token);
+            }
+
+            String sortValue = parts[3].startsWith(VALUE_MARKER) ? parts[3].substring(1) : null;
+            if (sortValue == null && !NULL_MARKER.equals(parts[3])) {
+                throw new InvalidScrollTokenException(token);
+            }
+            if (sortValue != null && "publicationYear".equals(parts[0])) {
+                Integer.parseInt(sortValue);
+            }
+
+            return new BookScrollCursor(parts[0], Sort.Direction.valueOf(parts[1]), sortValue, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidScrollTokenException(token);
+        }
+    }
+}
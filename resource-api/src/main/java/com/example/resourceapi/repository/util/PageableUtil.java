@@ -10,17 +10,20 @@ import java.util.Set;
 
 public class PageableUtil {
 
+    public static final Set<String> ALLOWED_SORT_FIELDS = Set.of("title", "author", "publicationYear");
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    // Same ceiling Spring Data's pageable resolver applies to the size request parameter
+    public static final int MAX_PAGE_SIZE = 2000;
+
     public static Pageable sanitizePageable(Pageable pageable) {
         int page = Math.max(pageable.getPageNumber(), 0);
-        int size = pageable.getPageSize() <= 0 ? 10 : pageable.getPageSize();
+        int size = sanitizeSize(pageable.getPageSize());
 
         Sort sort = pageable.getSort();
-        Set<String> allowedFields = Set.of("title", "author", "publicationYear");
-
         List<Sort.Order> sanitizedOrders = new ArrayList<>();
         for (Sort.Order order : sort) {
             try {
-                if (allowedFields.contains(order.getProperty())) {
+                if (ALLOWED_SORT_FIELDS.contains(order.getProperty())) {
                     Sort.Direction direction = order.getDirection(); // ASC/DESC only
                     sanitizedOrders.add(new Sort.Order(direction, order.getProperty()));
                 }
@@ -29,8 +32,17 @@ public class PageableUtil {
             }
         }
 
-        Sort sanitizedSort = sanitizedOrders.isEmpty() ? Sort.by("title").ascending() : Sort.by(sanitizedOrders);
+        if (sanitizedOrders.isEmpty()) {
+            sanitizedOrders.add(Sort.Order.asc("title"));
+        }
+        // id makes the order total and, in the same direction as the sort key, lets the (key, id) indexes serve it
+        sanitizedOrders.add(new Sort.Order(sanitizedOrders.get(sanitizedOrders.size() - 1).getDirection(), "id"));
+        Sort sanitizedSort = Sort.by(sanitizedOrders);
 
         return PageRequest.of(page, size, sanitizedSort);
     }
+
+    public static int sanitizeSize(int size) {
+        return size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
 }
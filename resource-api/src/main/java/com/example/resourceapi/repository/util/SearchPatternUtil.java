@@ -0,0 +1,28 @@
+package com.example.resourceapi.repository.util;
+
+import java.util.Locale;
+
+public class SearchPatternUtil {
+
+    private static final char ESCAPE_CHARACTER = '\\';
+
+    /**
+     * Builds a lower-cased {@code %value%} LIKE pattern with LIKE wildcards escaped, so the
+     * comparison can be written against {@code lower(column)} and served by the trigram indexes.
+     */
+    public static String toContainsPattern(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String lowerCased = value.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lowerCased.length() + 2).append('%');
+        for (char c : lowerCased.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE_CHARACTER) {
+                pattern.append(ESCAPE_CHARACTER);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
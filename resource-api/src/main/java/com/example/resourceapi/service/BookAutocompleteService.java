@@ -0,0 +1,8 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.dto.response.AutocompleteResponseDto;
+import com.example.resourceapi.enums.BookField;
+
+public interface BookAutocompleteService {
+    AutocompleteResponseDto suggest(BookField field, String prefix, int limit);
+}
@@ -0,0 +1,8 @@
+package com.example.resourceapi.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportNdjson(String title, String author, Integer publicationYear, OutputStream outputStream) throws IOException;
+}
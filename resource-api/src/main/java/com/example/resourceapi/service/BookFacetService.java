@@ -0,0 +1,16 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.repository.facet.BookFacetKey;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BookFacetService {
+    BookFacetsResponseDto getFacets(String title, String author, Integer publicationYear, int topAuthors);
+
+    void applyChanges(List<CreateBookResponseDto> previousBooks, List<CreateBookResponseDto> currentBooks);
+
+    void applyDeltas(Map<BookFacetKey, Long> deltas);
+}
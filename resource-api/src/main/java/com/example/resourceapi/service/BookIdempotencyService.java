@@ -0,0 +1,18 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+
+import java.util.List;
+
+public interface BookIdempotencyService {
+
+    /**
+     * Creates the books once per key; repeating the request with the same key returns the stored outcome instead
+     * of creating them again.
+     */
+    Result saveAll(String idempotencyKey, List<CreateBookRequestDto> books);
+
+    record Result(List<CreateBookResponseDto> books, boolean replayed) {
+    }
+}
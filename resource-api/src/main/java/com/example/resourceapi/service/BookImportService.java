@@ -0,0 +1,10 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.dto.response.ImportBooksResponseDto;
+import com.example.resourceapi.enums.BookImportFormat;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    ImportBooksResponseDto importBooks(BookImportFormat format, InputStream inputStream);
+}
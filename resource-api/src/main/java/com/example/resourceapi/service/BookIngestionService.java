@@ -0,0 +1,17 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BookIngestionService {
+
+    /**
+     * Queues the batch for creation in the background and returns the job right away.
+     */
+    BookIngestionJobResponseDto submit(List<CreateBookRequestDto> books);
+
+    BookIngestionJobResponseDto findJob(UUID jobId);
+}
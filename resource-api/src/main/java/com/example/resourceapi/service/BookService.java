@@ -2,27 +2,76 @@ package com.example.resourceapi.service;
 
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.DeleteBooksResponseDto;
+import com.example.resourceapi.dto.response.LookupBooksResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.dto.response.UpdateBooksResponseDto;
+import com.example.resourceapi.dto.response.UpsertBooksResponseDto;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.enums.TotalCountMode;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface BookService {
     List<CreateBookResponseDto> saveAll(List<CreateBookRequestDto> books);
 
-    PagedBooksResponseDto findBooksWithPagination(
+    PagedBooksResponseDto<CreateBookResponseDto> findBooksWithPagination(
             Pageable pageable,
             String title,
             String author,
+            Integer publicationYear,
+            TotalCountMode totalCountMode);
+
+    PagedBooksResponseDto<BookFieldsResponseDto> findBookFieldsWithPagination(
+            Pageable pageable,
+            String title,
+            String author,
+            Integer publicationYear,
+            Set<BookField> fields,
+            TotalCountMode totalCountMode);
+
+    ScrollBooksResponseDto scrollBooks(
+            String scrollToken,
+            int size,
+            String sortBy,
+            Sort.Direction direction,
+            String title,
+            String author,
             Integer publicationYear);
 
     CreateBookResponseDto findById(UUID id);
 
+    /**
+     * Modification time of a book, resolved without fetching the full row; empty if the book does not exist.
+     */
+    Optional<Instant> findUpdatedAt(UUID id);
+
+    LookupBooksResponseDto findAllByIds(List<UUID> ids);
+
     UpdateBooksResponseDto updateBooks(List<UpdateBookRequestDto> updateRequests);
 
+    /**
+     * Creates the books that do not exist under their client-supplied IDs and replaces the ones that do.
+     */
+    UpsertBooksResponseDto upsertBooks(List<UpsertBookRequestDto> books);
+
 
     void deleteBook(UUID id);
+
+    DeleteBooksResponseDto deleteBooks(List<UUID> ids);
+
+    /**
+     * Deletes every book matching the filter; at least one criterion is required.
+     */
+    DeleteBooksResponseDto deleteBooksMatching(String title, String author, Integer publicationYear);
 }
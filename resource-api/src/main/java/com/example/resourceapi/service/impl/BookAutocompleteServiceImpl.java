@@ -0,0 +1,36 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.cache.BookAutocompleteIndex;
+import com.example.resourceapi.cache.PrefixIndex;
+import com.example.resourceapi.dto.response.AutocompleteResponseDto;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.exception.InvalidBookFieldException;
+import com.example.resourceapi.service.BookAutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookAutocompleteServiceImpl implements BookAutocompleteService {
+
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+
+    @Override
+    public AutocompleteResponseDto suggest(BookField field, String prefix, int limit) {
+        int sanitizedLimit = Math.min(Math.max(limit, 1), PrefixIndex.MAX_SUGGESTIONS);
+        List<PrefixIndex.Term> terms = switch (field) {
+            case TITLE -> bookAutocompleteIndex.suggestTitles(prefix, sanitizedLimit);
+            case AUTHOR -> bookAutocompleteIndex.suggestAuthors(prefix, sanitizedLimit);
+            default -> throw new InvalidBookFieldException(field.property());
+        };
+
+        return AutocompleteResponseDto.builder()
+                .field(field.property())
+                .suggestions(terms.stream()
+                        .map(term -> new AutocompleteResponseDto.Suggestion(term.value(), term.books()))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.service.BookExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+
+    private final BookJdbcRepository bookJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes one JSON object per line. Rows go from the database cursor straight into the generator's buffer,
+     * which is flushed only when full rather than after every row.
+     */
+    @Override
+    public void exportNdjson(String title, String author, Integer publicationYear, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CreateBookResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try {
+                bookJdbcRepository.forEachBook(BookFilter.of(title, author, publicationYear), book -> {
+                    try {
+                        writer.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
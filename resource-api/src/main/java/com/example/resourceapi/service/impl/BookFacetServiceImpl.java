@@ -0,0 +1,77 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.config.props.BookFacetProperties;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.repository.BookFacetJdbcRepository;
+import com.example.resourceapi.repository.facet.BookFacetKey;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.service.BookFacetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class BookFacetServiceImpl implements BookFacetService {
+
+    private static final int MAX_TOP_AUTHORS = 100;
+
+    private final BookFacetJdbcRepository bookFacetJdbcRepository;
+    private final BookFacetProperties bookFacetProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacetsResponseDto getFacets(String title, String author, Integer publicationYear, int topAuthors) {
+        BookFilter filter = BookFilter.of(title, author, publicationYear);
+        int limit = Math.min(Math.max(topAuthors, 1), MAX_TOP_AUTHORS);
+
+        return BookFacetsResponseDto.builder()
+                .publicationYears(bookFacetJdbcRepository.countByPublicationYear(filter))
+                .topAuthors(bookFacetJdbcRepository.findTopAuthors(filter, limit))
+                .build();
+    }
+
+    /**
+     * Moves the affected books between aggregate buckets. Runs inside the write transaction, so the deltas commit
+     * or roll back together with the books, but only appends them to the delta log: no aggregate row is locked.
+     */
+    @Override
+    @Transactional
+    public void applyChanges(List<CreateBookResponseDto> previousBooks, List<CreateBookResponseDto> currentBooks) {
+        Map<BookFacetKey, Long> deltas = new HashMap<>();
+        previousBooks.forEach(book -> deltas.merge(keyOf(book), -1L, Long::sum));
+        currentBooks.forEach(book -> deltas.merge(keyOf(book), 1L, Long::sum));
+        applyDeltas(deltas);
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(Map<BookFacetKey, Long> deltas) {
+        Map<BookFacetKey, Long> netDeltas = new HashMap<>();
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                netDeltas.put(key, delta);
+            }
+        });
+        bookFacetJdbcRepository.appendDeltas(netDeltas);
+    }
+
+    @Scheduled(initialDelayString = "${book.facets.fold-interval}", fixedDelayString = "${book.facets.fold-interval}")
+    public void foldDeltas() {
+        int batchSize = bookFacetProperties.foldBatchSize();
+        int folded;
+        do {
+            folded = bookFacetJdbcRepository.foldDeltas(batchSize);
+        } while (folded == batchSize);
+    }
+
+    private static BookFacetKey keyOf(CreateBookResponseDto book) {
+        return new BookFacetKey(book.publicationYear(), book.author());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.cache.BookIdempotencyCache;
+import com.example.resourceapi.config.props.BookIdempotencyProperties;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.exception.IdempotencyKeyReuseException;
+import com.example.resourceapi.exception.InvalidIdempotencyKeyException;
+import com.example.resourceapi.repository.BookIdempotencyJdbcRepository;
+import com.example.resourceapi.repository.idempotency.IdempotentCreation;
+import com.example.resourceapi.service.BookIdempotencyService;
+import com.example.resourceapi.service.BookService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Deduplicates retried creates. A replay is answered from the front cache or, on a miss, by a single primary key
+ * lookup. A first request creates its books and claims the key in one transaction; if a concurrent request with the
+ * same key wins the claim, this one rolls back and replays the winner's outcome.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookIdempotencyServiceImpl implements BookIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final BookService bookService;
+    private final BookIdempotencyJdbcRepository bookIdempotencyJdbcRepository;
+    private final BookIdempotencyCache bookIdempotencyCache;
+    private final BookIdempotencyProperties bookIdempotencyProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Result saveAll(String idempotencyKey, List<CreateBookRequestDto> books) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("must be 1 to " + MAX_KEY_LENGTH + " non-blank characters");
+        }
+        String requestHash = hash(books);
+
+        IdempotentCreation stored = bookIdempotencyCache.getIfPresent(idempotencyKey);
+        if (stored == null) {
+            stored = bookIdempotencyJdbcRepository.findLive(idempotencyKey, bookIdempotencyProperties.ttl()).orElse(null);
+        }
+        if (stored != null) {
+            return replay(idempotencyKey, stored, requestHash);
+        }
+
+        List<CreateBookResponseDto> created = transactionTemplate.execute(status -> {
+            List<CreateBookResponseDto> saved = bookService.saveAll(books);
+            if (bookIdempotencyJdbcRepository.claim(idempotencyKey, requestHash, saved, bookIdempotencyProperties.ttl())) {
+                return saved;
+            }
+            status.setRollbackOnly();
+            return null;
+        });
+        if (created == null) {
+            IdempotentCreation winner = bookIdempotencyJdbcRepository.findLive(idempotencyKey, bookIdempotencyProperties.ttl())
+                    .orElseThrow(() -> new IllegalStateException("Idempotency-Key " + idempotencyKey + " vanished after a conflicting claim"));
+            return replay(idempotencyKey, winner, requestHash);
+        }
+
+        bookIdempotencyCache.put(idempotencyKey, new IdempotentCreation(requestHash, created, Instant.now()));
+        return new Result(created, false);
+    }
+
+    @Scheduled(initialDelayString = "${book.idempotency.purge-interval}", fixedDelayString = "${book.idempotency.purge-interval}")
+    public void purgeExpiredKeys() {
+        int batchSize = bookIdempotencyProperties.purgeBatchSize();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = bookIdempotencyJdbcRepository.deleteExpired(bookIdempotencyProperties.ttl(), batchSize);
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Result replay(String idempotencyKey, IdempotentCreation stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(idempotencyKey);
+        }
+        bookIdempotencyCache.put(idempotencyKey, stored);
+        return new Result(stored.books(), true);
+    }
+
+    private String hash(List<CreateBookRequestDto> books) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(books));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint request", e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.cache.BookIdBloomFilter;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.ImportBooksResponseDto;
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.BookImportFormat;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.exception.InvalidImportException;
+import com.example.resourceapi.mapper.BookMapper;
+import com.example.resourceapi.rabbit.event.BookLogEvent;
+import com.example.resourceapi.rabbit.publisher.BookCacheInvalidationPublisher;
+import com.example.resourceapi.rabbit.publisher.BookLogEventPublisher;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import com.example.resourceapi.repository.copy.BookCopyIn;
+import com.example.resourceapi.repository.facet.BookFacetKey;
+import com.example.resourceapi.service.BookFacetService;
+import com.example.resourceapi.service.BookImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final String EVENT_SUBJECT_TYPE = "Book";
+
+    private static final ObjectReader CSV_READER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build()
+            .readerFor(CreateBookRequestDto.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final BookJdbcRepository bookJdbcRepository;
+    private final BookMapper bookMapper;
+    private final BookFacetService bookFacetService;
+    private final BookIdBloomFilter bookIdBloomFilter;
+    private final BookLogEventPublisher bookLogEventPublisher;
+    private final BookCacheInvalidationPublisher bookCacheInvalidationPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Parses, validates and copies rows one at a time, so the upload is never held in memory. Invalid rows are
+     * skipped and reported; a row that cannot be parsed at all aborts the import.
+     */
+    @Override
+    @Transactional
+    public ImportBooksResponseDto importBooks(BookImportFormat format, InputStream inputStream) {
+        ObjectReader reader = format == BookImportFormat.CSV ? CSV_READER : objectMapper.readerFor(CreateBookRequestDto.class);
+        Map<BookFacetKey, Long> facetDeltas = new HashMap<>();
+        List<ImportBooksResponseDto.RejectedRow> rejectedRows = new ArrayList<>();
+        long rejectedCount = 0;
+        long row = 0;
+        long importedCount;
+        UUID firstId = null;
+        UUID lastId = null;
+
+        try (MappingIterator<CreateBookRequestDto> rows = reader.readValues(inputStream);
+             BookCopyIn copyIn = bookJdbcRepository.beginCopy()) {
+            while (rows.hasNextValue()) {
+                CreateBookRequestDto bookDto = rows.nextValue();
+                row++;
+
+                Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(bookDto);
+                if (!violations.isEmpty()) {
+                    rejectedCount++;
+                    if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                        rejectedRows.add(new ImportBooksResponseDto.RejectedRow(row, violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .toList()));
+                    }
+                    continue;
+                }
+
+                Book book = bookMapper.toBook(bookDto);
+                book.setId(UuidV7Generator.next());
+                copyIn.write(book);
+                bookIdBloomFilter.add(book.getId());
+                if (firstId == null) {
+                    firstId = book.getId();
+                }
+                lastId = book.getId();
+                facetDeltas.merge(new BookFacetKey(book.getPublicationYear(), book.getAuthor()), 1L, Long::sum);
+            }
+            importedCount = copyIn.finish();
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException(row + 1, e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        bookFacetService.applyDeltas(facetDeltas);
+        if (importedCount > 0) {
+            publishImportEvents(new BooksImportedEvent(importedCount, firstId, lastId));
+        }
+
+        return ImportBooksResponseDto.builder()
+                .importedCount(importedCount)
+                .rejectedCount(rejectedCount)
+                .rejectedRows(rejectedRows)
+                .build();
+    }
+
+    private void publishImportEvents(BooksImportedEvent importedEvent) {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        applicationEventPublisher.publishEvent(importedEvent);
+                        bookCacheInvalidationPublisher.publishImport(importedEvent);
+                        bookLogEventPublisher.publishEvent(BookLogEvent.builder()
+                                .timestamp(Instant.now())
+                                .subjectType(EVENT_SUBJECT_TYPE)
+                                .eventType(EventType.CREATE)
+                                .eventDescription("Bulk import created " + importedEvent.importedCount() + " books")
+                                .build());
+                    }
+                }
+        );
+    }
+}
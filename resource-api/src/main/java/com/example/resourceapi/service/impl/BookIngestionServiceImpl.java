@@ -0,0 +1,186 @@
+package com.example.resourceapi.service.impl;
+
+import com.example.resourceapi.config.props.BookIngestionProperties;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.IngestionJobStatus;
+import com.example.resourceapi.exception.IngestionCapacityExceededException;
+import com.example.resourceapi.exception.IngestionJobNotFoundException;
+import com.example.resourceapi.exception.InvalidIngestionJobException;
+import com.example.resourceapi.repository.BookIngestionJobJdbcRepository;
+import com.example.resourceapi.service.BookIngestionService;
+import com.example.resourceapi.service.BookService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates submitted batches on a bounded pool of worker threads. Each chunk is saved through
+ * {@link BookService#saveAll} in its own transaction, so facets, caches and change events behave exactly as for a
+ * synchronous create, and a failure only costs the chunk at hand.
+ */
+@Slf4j
+@Service
+public class BookIngestionServiceImpl implements BookIngestionService {
+
+    private final BookService bookService;
+    private final BookIngestionJobJdbcRepository jobRepository;
+    private final Validator validator;
+    private final BookIngestionProperties properties;
+
+    // Not exposed as a bean: an Executor bean would take the place of Boot's applicationTaskExecutor
+    private final ThreadPoolTaskExecutor executor;
+
+    public BookIngestionServiceImpl(BookService bookService,
+                                    BookIngestionJobJdbcRepository jobRepository,
+                                    Validator validator,
+                                    BookIngestionProperties properties) {
+        this.bookService = bookService;
+        this.jobRepository = jobRepository;
+        this.validator = validator;
+        this.properties = properties;
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.concurrency());
+        executor.setMaxPoolSize(properties.concurrency());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setThreadNamePrefix("book-ingestion-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    @Override
+    public BookIngestionJobResponseDto submit(List<CreateBookRequestDto> books) {
+        if (books == null || books.isEmpty()) {
+            throw new InvalidIngestionJobException("the batch must contain at least one book");
+        }
+        if (books.size() > properties.maxBatchSize()) {
+            throw new InvalidIngestionJobException("at most " + properties.maxBatchSize() + " books can be submitted at once");
+        }
+
+        UUID jobId = UuidV7Generator.next();
+        jobRepository.create(jobId, books.size());
+        try {
+            executor.execute(() -> process(jobId, books));
+        } catch (TaskRejectedException e) {
+            jobRepository.delete(jobId);
+            throw new IngestionCapacityExceededException();
+        }
+        return findJob(jobId);
+    }
+
+    @Override
+    public BookIngestionJobResponseDto findJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new IngestionJobNotFoundException(jobId));
+    }
+
+    @Scheduled(initialDelayString = "${book.ingestion.purge-interval}", fixedDelayString = "${book.ingestion.purge-interval}")
+    public void purgeFinishedJobs() {
+        int purged = jobRepository.deleteFinishedBefore(properties.retention());
+        if (purged > 0) {
+            log.debug("Purged {} finished ingestion jobs", purged);
+        }
+    }
+
+    // Jobs live only in the executor of the node that accepted them; when that node stops, nobody will finish them
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${book.ingestion.purge-interval}", fixedDelayString = "${book.ingestion.purge-interval}")
+    public void failAbandonedJobs() {
+        int failed = jobRepository.failStale(properties.staleAfter(),
+                "Abandoned: no progress for " + properties.staleAfter() + ", the node running the job stopped");
+        if (failed > 0) {
+            log.warn("Failed {} abandoned ingestion jobs", failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    void process(UUID jobId, List<CreateBookRequestDto> books) {
+        int reportedFailures = 0;
+        try {
+            jobRepository.markRunning(jobId);
+            for (int from = 0; from < books.size(); from += properties.chunkSize()) {
+                int to = Math.min(from + properties.chunkSize(), books.size());
+                List<BookIngestionJobResponseDto.FailedRow> failedRows = new ArrayList<>();
+                int createdRows = processChunk(books.subList(from, to), from, failedRows);
+
+                List<BookIngestionJobResponseDto.FailedRow> reported = failedRows.subList(0,
+                        Math.min(failedRows.size(), Math.max(0, properties.maxReportedFailures() - reportedFailures)));
+                reportedFailures += reported.size();
+                jobRepository.recordProgress(jobId, to - from, createdRows, failedRows.size(), reported);
+            }
+            jobRepository.finish(jobId, IngestionJobStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Ingestion job {} failed", jobId, e);
+            jobRepository.finish(jobId, IngestionJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the valid rows of a chunk in one transaction. When that transaction fails the rows are retried one by
+     * one, so a single bad row is reported on its own instead of failing the whole chunk.
+     *
+     * @return number of created books
+     */
+    private int processChunk(List<CreateBookRequestDto> chunk, int offset,
+                             List<BookIngestionJobResponseDto.FailedRow> failedRows) {
+        List<CreateBookRequestDto> validBooks = new ArrayList<>(chunk.size());
+        List<Long> validRowNumbers = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            long row = offset + i + 1L;
+            CreateBookRequestDto book = chunk.get(i);
+            if (book == null) {
+                failedRows.add(new BookIngestionJobResponseDto.FailedRow(row, List.of("book must not be null")));
+                continue;
+            }
+            Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                failedRows.add(new BookIngestionJobResponseDto.FailedRow(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .toList()));
+                continue;
+            }
+            validBooks.add(book);
+            validRowNumbers.add(row);
+        }
+        if (validBooks.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return bookService.saveAll(validBooks).size();
+        } catch (DataAccessException e) {
+            int createdRows = 0;
+            for (int i = 0; i < validBooks.size(); i++) {
+                try {
+                    createdRows += bookService.saveAll(List.of(validBooks.get(i))).size();
+                } catch (DataAccessException rowException) {
+                    failedRows.add(new BookIngestionJobResponseDto.FailedRow(validRowNumbers.get(i),
+                            List.of(rowException.getMostSpecificCause().getMessage())));
+                }
+            }
+            failedRows.sort(Comparator.comparingLong(BookIngestionJobResponseDto.FailedRow::row));
+            return createdRows;
+        }
+    }
+}
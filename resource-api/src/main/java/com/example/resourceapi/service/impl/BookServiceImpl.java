@@ -1,34 +1,68 @@
 package com.example.resourceapi.service.impl;
 
+import com.example.resourceapi.cache.BookCountCache;
+import com.example.resourceapi.cache.BookEntityCache;
+import com.example.resourceapi.cache.BookIdBloomFilter;
+import com.example.resourceapi.cache.BookPageCache;
+import com.example.resourceapi.config.props.BookCountProperties;
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.DeleteBooksResponseDto;
+import com.example.resourceapi.dto.response.LookupBooksResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
 import com.example.resourceapi.dto.response.UpdateBooksResponseDto;
+import com.example.resourceapi.dto.response.UpsertBooksResponseDto;
+import com.example.resourceapi.enums.BookField;
 import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.event.BooksChangedEvent;
 import com.example.resourceapi.exception.BookNotFoundException;
+import com.example.resourceapi.exception.InvalidBulkDeleteException;
+import com.example.resourceapi.exception.InvalidUpsertException;
 import com.example.resourceapi.entity.Book;
 import com.example.resourceapi.mapper.BookMapper;
 import com.example.resourceapi.rabbit.event.BookLogEvent;
+import com.example.resourceapi.rabbit.publisher.BookCacheInvalidationPublisher;
 import com.example.resourceapi.rabbit.publisher.BookLogEventPublisher;
+import com.example.resourceapi.repository.BookJdbcRepository;
 import com.example.resourceapi.repository.BookRepository;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.repository.specification.BookSpecifications;
+import com.example.resourceapi.repository.upsert.UpsertedBook;
+import com.example.resourceapi.repository.util.BookScrollCursor;
 import com.example.resourceapi.repository.util.PageableUtil;
+import com.example.resourceapi.service.BookFacetService;
 import com.example.resourceapi.service.BookService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -37,50 +71,168 @@ public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookLogEventPublisher bookLogEventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BookJdbcRepository bookJdbcRepository;
+    private final BookCountCache bookCountCache;
+    private final BookCountProperties bookCountProperties;
+    private final BookFacetService bookFacetService;
+    private final BookPageCache bookPageCache;
+    private final BookIdBloomFilter bookIdBloomFilter;
+    private final BookEntityCache bookEntityCache;
+    private final BookCacheInvalidationPublisher bookCacheInvalidationPublisher;
 
     private final static String EVENT_SUBJECT_TYPE = "Book";
+    // 20 ids with separators stay well inside the 1000 characters of event_log.description
+    private final static int MAX_DESCRIBED_IDS = 20;
+    private final static int UPSERT_BATCH_SIZE = 1000;
+    // Each retry only covers books a concurrent transaction inserted in the meantime
+    private final static int MAX_UPSERT_ATTEMPTS = 3;
 
     @Override
     @Transactional
     public List<CreateBookResponseDto> saveAll(List<CreateBookRequestDto> books) {
         List<Book> mappedBooks = bookMapper.toBookList(books);
         List<Book> savedBooks = bookRepository.saveAll(mappedBooks);
+        savedBooks.forEach(book -> bookIdBloomFilter.add(book.getId()));
+        List<CreateBookResponseDto> createdBooks = bookMapper.toCreateBookResponseDtoList(savedBooks);
 
-        publishBookLogEvent(EventType.CREATE, savedBooks);
-        return bookMapper.toCreateBookResponseDtoList(savedBooks);
+        bookFacetService.applyChanges(List.of(), createdBooks);
+        publishBookLogEvent(EventType.CREATE, List.of(), createdBooks);
+        return createdBooks;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PagedBooksResponseDto findBooksWithPagination(
+    public PagedBooksResponseDto<CreateBookResponseDto> findBooksWithPagination(
             Pageable pageable,
             String title,
             String author,
-            Integer publicationYear) {
+            Integer publicationYear,
+            TotalCountMode totalCountMode) {
 
         Pageable sanitizePageable = PageableUtil.sanitizePageable(pageable);
+        BookPageCache.Key cacheKey = new BookPageCache.Key(
+                BookFilter.of(title, author, publicationYear), sanitizePageable, totalCountMode);
 
-        Page<Book> bookPage = bookRepository.findBooksWithFilters(title, author, publicationYear, sanitizePageable);
+        return bookPageCache.getOrLoad(cacheKey, () ->
+                loadBooksPage(sanitizePageable, title, author, publicationYear, totalCountMode));
+    }
 
-        List<CreateBookResponseDto> books = bookMapper.toCreateBookResponseDtoList(bookPage.getContent());
+    @Override
+    @Transactional(readOnly = true)
+    public PagedBooksResponseDto<BookFieldsResponseDto> findBookFieldsWithPagination(
+            Pageable pageable,
+            String title,
+            String author,
+            Integer publicationYear,
+            Set<BookField> fields,
+            TotalCountMode totalCountMode) {
 
-        return PagedBooksResponseDto.builder()
-                .books(books)
-                .totalElements(bookPage.getTotalElements())
-                .totalPages(bookPage.getTotalPages())
-                .currentPage(bookPage.getNumber())
-                .pageSize(bookPage.getSize())
-                .hasNext(bookPage.hasNext())
-                .hasPrevious(bookPage.hasPrevious())
-                .build();
+        Pageable sanitizePageable = PageableUtil.sanitizePageable(pageable);
+        Slice<BookFieldsResponseDto> bookSlice = bookRepository.findBookFieldSliceWithFilters(
+                title, author, publicationYear, fields, sanitizePageable);
+
+        return toPage(bookSlice, bookSlice.getContent(), BookFilter.of(title, author, publicationYear), totalCountMode);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public ScrollBooksResponseDto scrollBooks(
+            String scrollToken,
+            int size,
+            String sortBy,
+            Sort.Direction direction,
+            String title,
+            String author,
+            Integer publicationYear) {
+
+        int sanitizedSize = PageableUtil.sanitizeSize(size);
+        BookScrollCursor cursor = scrollToken == null ? null : BookScrollCursor.decode(scrollToken);
+
+        // A token pins the sort order it was issued for, otherwise the seek predicate would not match the ordering
+        String sortField = cursor != null ? cursor.sortField()
+                : PageableUtil.ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : "title";
+        Sort.Direction sortDirection = cursor != null ? cursor.direction()
+                : direction == null ? Sort.Direction.ASC : direction;
+
+        Specification<Book> filters = BookSpecifications.withFilters(title, author, publicationYear);
+        Sort sort = Sort.by(new Sort.Order(sortDirection, sortField), new Sort.Order(sortDirection, "id"));
+
+        List<Book> fetched = new ArrayList<>(fetchSlice(
+                cursor == null ? filters : filters.and(BookSpecifications.seekAfter(cursor)), sort, sanitizedSize + 1));
+        // The seek stays inside the cursor's null/non-null section so it remains an index range; top up from the next one
+        Specification<Book> nextSection = cursor == null ? null : BookSpecifications.sectionAfter(cursor);
+        if (nextSection != null && fetched.size() <= sanitizedSize) {
+            fetched.addAll(fetchSlice(filters.and(nextSection), sort, sanitizedSize + 1 - fetched.size()));
+        }
+
+        boolean hasNext = fetched.size() > sanitizedSize;
+        List<Book> slice = hasNext ? fetched.subList(0, sanitizedSize) : fetched;
+        String nextToken = hasNext
+                ? BookScrollCursor.after(slice.get(slice.size() - 1), sortField, sortDirection).encode()
+                : null;
+
+        return ScrollBooksResponseDto.builder()
+                .books(bookMapper.toCreateBookResponseDtoList(slice))
+                .pageSize(sanitizedSize)
+                .hasNext(hasNext)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private List<Book> fetchSlice(Specification<Book> specification, Sort sort, int limit) {
+        return bookRepository.findBy(specification, query -> query.sortBy(sort).limit(limit).all());
+    }
+
+    // Not transactional: a definite miss must not open a transaction; the repository call runs in its own read-only one
+    @Override
     public CreateBookResponseDto findById(UUID id) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
-        return bookMapper.toCreateBookResponseDto(book);
+        if (!bookIdBloomFilter.mightContain(id)) {
+            throw new BookNotFoundException(id);
+        }
+
+        return bookEntityCache.getOrLoad(id, () -> bookRepository.findById(id)
+                .map(bookMapper::toCreateBookResponseDto)
+                .orElseThrow(() -> new BookNotFoundException(id)));
+    }
+
+    @Override
+    public Optional<Instant> findUpdatedAt(UUID id) {
+        if (!bookIdBloomFilter.mightContain(id)) {
+            return Optional.empty();
+        }
+
+        CreateBookResponseDto cached = bookEntityCache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.ofNullable(cached.updatedAt());
+        }
+        return bookJdbcRepository.findUpdatedAt(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LookupBooksResponseDto findAllByIds(List<UUID> ids) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(ids);
+
+        // One query for the whole batch; the rows come back in no particular order
+        Map<UUID, Book> booksById = bookRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<CreateBookResponseDto> books = new ArrayList<>(booksById.size());
+        List<UUID> notFoundIds = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            Book book = booksById.get(id);
+            if (book == null) {
+                notFoundIds.add(id);
+            } else {
+                books.add(bookMapper.toCreateBookResponseDto(book));
+            }
+        }
+
+        return LookupBooksResponseDto.builder()
+                .books(books)
+                .notFoundIds(notFoundIds)
+                .build();
     }
 
     @Override
@@ -89,80 +241,315 @@ public class BookServiceImpl implements BookService {
         Map<UUID, UpdateBookRequestDto> dtoMap = updateRequests.stream()
                 .collect(Collectors.toMap(UpdateBookRequestDto::id, Function.identity()));
 
-        List<Book> existingBooks = bookRepository.findAllById(dtoMap.keySet());
+        // Books another writer holds are skipped rather than waited for; the row locks keep the previous state
+        // exact for facet deltas and change events until commit
+        List<CreateBookResponseDto> lockedBooks = bookJdbcRepository.lockAvailableById(dtoMap.keySet());
 
-        // Determine which books were found and which were not
-        Set<UUID> foundIds = existingBooks.stream().map(Book::getId).collect(Collectors.toSet());
-        List<UUID> notFoundIds = dtoMap.keySet().stream()
-                .filter(id -> !foundIds.contains(id))
+        Set<UUID> lockedIds = lockedBooks.stream().map(CreateBookResponseDto::id).collect(Collectors.toSet());
+        List<UUID> missingIds = dtoMap.keySet().stream()
+                .filter(id -> !lockedIds.contains(id))
+                .toList();
+        Set<UUID> busyIds = missingIds.isEmpty() ? Set.of() : bookJdbcRepository.findExistingIds(missingIds);
+        List<UUID> notFoundIds = missingIds.stream()
+                .filter(id -> !busyIds.contains(id))
                 .toList();
 
-        // Update only the books that were found
-        List<Book> updatedBooks = existingBooks.stream()
-                .map(book -> {
-                    UpdateBookRequestDto dto = dtoMap.get(book.getId());
-                    return bookMapper.updateBookFromDto(dto, book);
-                })
-                .map(bookRepository::save)
+        // A book is conflicted when a concurrent writer holds it or it changed since the version the patch is based on
+        List<UUID> conflictedIds = new ArrayList<>(busyIds);
+        List<CreateBookResponseDto> previousBooks = new ArrayList<>();
+        for (CreateBookResponseDto lockedBook : lockedBooks) {
+            Long expectedVersion = dtoMap.get(lockedBook.id()).version();
+            if (expectedVersion == null || expectedVersion.equals(lockedBook.version())) {
+                previousBooks.add(lockedBook);
+            } else {
+                conflictedIds.add(lockedBook.id());
+            }
+        }
+        Map<UUID, CreateBookResponseDto> previousById = previousBooks.stream()
+                .collect(Collectors.toMap(CreateBookResponseDto::id, Function.identity()));
+
+        // One UPDATE per distinct set of patched fields; patches that set nothing leave their book as it is
+        Map<Set<BookField>, List<UpdateBookRequestDto>> patchesByFields = new LinkedHashMap<>();
+        for (CreateBookResponseDto previousBook : previousBooks) {
+            UpdateBookRequestDto patch = dtoMap.get(previousBook.id());
+            patchesByFields.computeIfAbsent(patchedFields(patch), fields -> new ArrayList<>()).add(patch);
+        }
+
+        Map<UUID, CreateBookResponseDto> updatedById = new HashMap<>(previousById);
+        patchesByFields.forEach((fields, patches) -> {
+            if (!fields.isEmpty()) {
+                bookJdbcRepository.patchAll(fields, patches).forEach(book -> updatedById.put(book.id(), book));
+            }
+        });
+
+        List<CreateBookResponseDto> updatedBookDtos = previousBooks.stream()
+                .map(previousBook -> updatedById.get(previousBook.id()))
                 .toList();
 
         // Publish events only for successfully updated books
-        if (!updatedBooks.isEmpty()) {
-            publishBookLogEvent(EventType.UPDATE, updatedBooks);
+        if (!updatedBookDtos.isEmpty()) {
+            bookFacetService.applyChanges(previousBooks, updatedBookDtos);
+            publishBookLogEvent(EventType.UPDATE, previousBooks, updatedBookDtos);
         }
 
         // Generate appropriate message
-        String message;
-        if (notFoundIds.isEmpty()) {
-            message = "Books are successfully updated";
-        } else {
-            message = "Books with IDs " + notFoundIds + " are not updated";
+        List<String> problems = new ArrayList<>();
+        if (!notFoundIds.isEmpty()) {
+            problems.add("Books with IDs " + notFoundIds + " are not updated");
         }
+        if (!conflictedIds.isEmpty()) {
+            problems.add("Books with IDs " + conflictedIds + " are in conflict with concurrent changes");
+        }
+        String message = problems.isEmpty() ? "Books are successfully updated" : String.join("; ", problems);
 
         return UpdateBooksResponseDto.builder()
-                .updatedBooks(bookMapper.toCreateBookResponseDtoList(updatedBooks))
+                .updatedBooks(updatedBookDtos)
                 .message(message)
                 .notUpdatedIds(notFoundIds)
+                .conflictedIds(conflictedIds)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public UpsertBooksResponseDto upsertBooks(List<UpsertBookRequestDto> books) {
+        Set<UUID> requestedIds = new HashSet<>();
+        for (UpsertBookRequestDto book : books) {
+            if (!requestedIds.add(book.id())) {
+                throw new InvalidUpsertException("book " + book.id() + " appears more than once");
+            }
+        }
+
+        // The locks pin the previous state of existing books for facet deltas and UPDATE events until commit
+        List<CreateBookResponseDto> previousBooks = new ArrayList<>(bookJdbcRepository.lockAllById(requestedIds));
+        Set<UUID> lockedIds = previousBooks.stream().map(CreateBookResponseDto::id).collect(Collectors.toCollection(HashSet::new));
+
+        List<CreateBookResponseDto> insertedBooks = new ArrayList<>();
+        List<CreateBookResponseDto> updatedBooks = new ArrayList<>();
+        List<UpsertBookRequestDto> pending = books;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt == MAX_UPSERT_ATTEMPTS) {
+                throw new IllegalStateException("Upsert kept racing with concurrent inserts of " + pending.size() + " books");
+            }
+
+            Set<UUID> writtenIds = new HashSet<>();
+            for (int from = 0; from < pending.size(); from += UPSERT_BATCH_SIZE) {
+                List<UpsertBookRequestDto> batch = pending.subList(from, Math.min(from + UPSERT_BATCH_SIZE, pending.size()));
+                for (UpsertedBook upserted : bookJdbcRepository.upsertAll(batch, lockedIds)) {
+                    writtenIds.add(upserted.book().id());
+                    if (upserted.inserted()) {
+                        bookIdBloomFilter.add(upserted.book().id());
+                        insertedBooks.add(upserted.book());
+                    } else {
+                        updatedBooks.add(upserted.book());
+                    }
+                }
+            }
+
+            // Books another transaction inserted after the locks were taken are now committed; lock and replace them
+            pending = pending.stream().filter(book -> !writtenIds.contains(book.id())).toList();
+            if (!pending.isEmpty()) {
+                List<CreateBookResponseDto> raced = bookJdbcRepository.lockAllById(
+                        pending.stream().map(UpsertBookRequestDto::id).toList());
+                previousBooks.addAll(raced);
+                raced.forEach(book -> lockedIds.add(book.id()));
+            }
+        }
+
+        // Events carry the previous state in the same order as the current one
+        Map<UUID, CreateBookResponseDto> previousById = previousBooks.stream()
+                .collect(Collectors.toMap(CreateBookResponseDto::id, Function.identity()));
+        List<CreateBookResponseDto> replacedBooks = updatedBooks.stream()
+                .map(book -> previousById.get(book.id()))
+                .toList();
+
+        bookFacetService.applyChanges(replacedBooks, Stream.concat(insertedBooks.stream(), updatedBooks.stream()).toList());
+        if (!insertedBooks.isEmpty()) {
+            publishBookLogEvent(EventType.CREATE, List.of(), insertedBooks);
+        }
+        if (!updatedBooks.isEmpty()) {
+            publishBookLogEvent(EventType.UPDATE, replacedBooks, updatedBooks);
+        }
+
+        return UpsertBooksResponseDto.builder()
+                .insertedIds(insertedBooks.stream().map(CreateBookResponseDto::id).toList())
+                .updatedIds(updatedBooks.stream().map(CreateBookResponseDto::id).toList())
                 .build();
     }
 
     @Override
     @Transactional
     public void deleteBook(UUID id) {
-        Book existingBook = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
+        List<CreateBookResponseDto> deletedBooks = bookJdbcRepository.deleteAllById(List.of(id));
+        if (deletedBooks.isEmpty()) {
+            throw new BookNotFoundException(id);
+        }
+
+        onBooksDeleted(deletedBooks);
+    }
+
+    @Override
+    @Transactional
+    public DeleteBooksResponseDto deleteBooks(List<UUID> ids) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(ids);
+        List<CreateBookResponseDto> deletedBooks = requestedIds.isEmpty()
+                ? List.of()
+                : bookJdbcRepository.deleteAllById(requestedIds);
+        onBooksDeleted(deletedBooks);
 
-        bookRepository.delete(existingBook);
+        Set<UUID> deletedIds = deletedBooks.stream().map(CreateBookResponseDto::id).collect(Collectors.toSet());
+        return DeleteBooksResponseDto.builder()
+                .deletedCount(deletedBooks.size())
+                .notFoundIds(requestedIds.stream().filter(id -> !deletedIds.contains(id)).toList())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public DeleteBooksResponseDto deleteBooksMatching(String title, String author, Integer publicationYear) {
+        BookFilter filter = BookFilter.of(title, author, publicationYear);
+        if (filter.isEmpty()) {
+            throw new InvalidBulkDeleteException("a filter is required, deleting every book is not supported");
+        }
+
+        List<CreateBookResponseDto> deletedBooks = bookJdbcRepository.deleteAllMatching(filter);
+        onBooksDeleted(deletedBooks);
+
+        return DeleteBooksResponseDto.builder()
+                .deletedCount(deletedBooks.size())
+                .notFoundIds(List.of())
+                .build();
+    }
 
-        publishBookLogEvent(EventType.DELETE, List.of(existingBook));
+    /**
+     * Settles facets and publishes a single change event for the whole batch, however many books it holds.
+     */
+    private void onBooksDeleted(List<CreateBookResponseDto> deletedBooks) {
+        if (deletedBooks.isEmpty()) {
+            return;
+        }
+        bookFacetService.applyChanges(deletedBooks, List.of());
+        publishBookLogEvent(EventType.DELETE, deletedBooks, List.of());
     }
 
-    private void publishBookLogEvent(EventType update, List<Book> updatedBook) {
+    private static Set<BookField> patchedFields(UpdateBookRequestDto patch) {
+        Set<BookField> fields = EnumSet.noneOf(BookField.class);
+        if (patch.title() != null && patch.title().isPresent()) {
+            fields.add(BookField.TITLE);
+        }
+        if (patch.author() != null && patch.author().isPresent()) {
+            fields.add(BookField.AUTHOR);
+        }
+        if (patch.publicationYear() != null && patch.publicationYear().isPresent()) {
+            fields.add(BookField.PUBLICATION_YEAR);
+        }
+        if (patch.description() != null && patch.description().isPresent()) {
+            fields.add(BookField.DESCRIPTION);
+        }
+        return fields;
+    }
+
+    private PagedBooksResponseDto<CreateBookResponseDto> loadBooksPage(Pageable sanitizePageable,
+                                                                       String title,
+                                                                       String author,
+                                                                       Integer publicationYear,
+                                                                       TotalCountMode totalCountMode) {
+        Slice<Book> bookSlice = bookRepository.findBookSliceWithFilters(title, author, publicationYear, sanitizePageable);
+
+        return toPage(bookSlice, bookMapper.toCreateBookResponseDtoList(bookSlice.getContent()),
+                BookFilter.of(title, author, publicationYear), totalCountMode);
+    }
+
+    private <T> PagedBooksResponseDto<T> toPage(Slice<?> bookSlice,
+                                                List<T> books,
+                                                BookFilter filter,
+                                                TotalCountMode totalCountMode) {
+        PagedBooksResponseDto.PagedBooksResponseDtoBuilder<T> response = PagedBooksResponseDto.<T>builder()
+                .books(books)
+                .currentPage(bookSlice.getNumber())
+                .pageSize(bookSlice.getSize())
+                .hasNext(bookSlice.hasNext())
+                .hasPrevious(bookSlice.hasPrevious());
+
+        if (totalCountMode == TotalCountMode.NONE) {
+            return response.build();
+        }
+
+        TotalCount totalCount = countBooks(filter, bookSlice, totalCountMode);
+
+        return response
+                .totalElements(totalCount.value())
+                .totalPages((int) Math.ceil((double) totalCount.value() / bookSlice.getSize()))
+                .totalElementsEstimated(totalCount.estimated())
+                .build();
+    }
+
+    private TotalCount countBooks(BookFilter filter, Slice<?> bookSlice, TotalCountMode totalCountMode) {
+        // The last page already tells the exact total, no count query needed
+        long offset = bookSlice.getPageable().getOffset();
+        if (!bookSlice.hasNext() && (bookSlice.hasContent() || offset == 0)) {
+            return new TotalCount(offset + bookSlice.getNumberOfElements(), false);
+        }
+
+        if (totalCountMode == TotalCountMode.ESTIMATED && bookCountCache.getIfPresent(filter) == null) {
+            long estimate = filter.isEmpty()
+                    ? bookJdbcRepository.estimateTotalBooks()
+                    : bookJdbcRepository.estimateMatchingBooks(filter);
+            // Narrow filters are cheap to count exactly, estimates only pay off for broad ones
+            if (estimate >= bookCountProperties.estimateThreshold()) {
+                return new TotalCount(estimate, true);
+            }
+        }
+
+        long count = bookCountCache.getOrCompute(filter, () ->
+                bookRepository.countBooksWithFilters(filter.title(), filter.author(), filter.publicationYear()));
+        return new TotalCount(count, false);
+    }
+
+    private void publishBookLogEvent(EventType eventType,
+                                     List<CreateBookResponseDto> previousBooks,
+                                     List<CreateBookResponseDto> currentBooks) {
         TransactionSynchronizationManager.registerSynchronization(
                 new TransactionSynchronization() {
                     @Override
                     public void afterCommit() {
-                        BookLogEvent bookLogEvent = createBookLogEvent(update, updatedBook);
+                        BooksChangedEvent changedEvent = new BooksChangedEvent(eventType, previousBooks, currentBooks);
+                        applicationEventPublisher.publishEvent(changedEvent);
+                        bookCacheInvalidationPublisher.publishChange(changedEvent);
+
+                        List<CreateBookResponseDto> affectedBooks = eventType == EventType.DELETE ? previousBooks : currentBooks;
+                        BookLogEvent bookLogEvent = createBookLogEvent(eventType, affectedBooks);
                         bookLogEventPublisher.publishEvent(bookLogEvent);
                     }
                 }
         );
     }
 
-    private BookLogEvent createBookLogEvent(EventType eventType, List<Book> books) {
-        String bookIds = books.stream()
-                .map(Book::getId)
-                .map(UUID::toString)
-                .collect(Collectors.joining(", "));
-
+    private BookLogEvent createBookLogEvent(EventType eventType, List<CreateBookResponseDto> books) {
         return BookLogEvent.builder()
                 .timestamp(Instant.now())
                 .subjectType(EVENT_SUBJECT_TYPE)
                 .eventType(eventType)
-                .eventDescription(
-                        eventType == EventType.CREATE ? "New books were created with IDs: " + bookIds :
-                                eventType == EventType.UPDATE ? "Books were updated with IDs: " + bookIds :
-                                        eventType == EventType.DELETE ? "Books were deleted with IDs " + bookIds : "Unknown event. ")
+                .eventDescription(describe(eventType, books))
                 .build();
     }
+
+    // Large batches are summarized by count: the id list would not fit the event log's description column
+    private static String describe(EventType eventType, List<CreateBookResponseDto> books) {
+        if (books.size() > MAX_DESCRIBED_IDS) {
+            return eventType == EventType.CREATE ? books.size() + " new books were created" :
+                    eventType == EventType.UPDATE ? books.size() + " books were updated" :
+                            eventType == EventType.DELETE ? books.size() + " books were deleted" : "Unknown event. ";
+        }
+        String bookIds = books.stream()
+                .map(CreateBookResponseDto::id)
+                .map(UUID::toString)
+                .collect(Collectors.joining(", "));
+        return eventType == EventType.CREATE ? "New books were created with IDs: " + bookIds :
+                eventType == EventType.UPDATE ? "Books were updated with IDs: " + bookIds :
+                        eventType == EventType.DELETE ? "Books were deleted with IDs " + bookIds : "Unknown event. ";
+    }
+
+    private record TotalCount(long value, boolean estimated) {
+    }
 }
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-book-title-sort-index dbms:postgresql runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_title_id ON book (title, id) INCLUDE (author, publication_year);
+
+--changeset book-system:16102026-book-author-sort-index dbms:postgresql runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_author_id ON book (author, id) INCLUDE (title, publication_year);
+
+--changeset book-system:16102026-book-publication-year-sort-index dbms:postgresql runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_publication_year_id ON book (publication_year, id) INCLUDE (title, author);
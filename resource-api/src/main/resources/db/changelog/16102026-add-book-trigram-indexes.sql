@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-enable-pg-trgm dbms:postgresql
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+--changeset book-system:16102026-book-title-trgm-index dbms:postgresql runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_title_lower_trgm ON book USING gin (lower(title) gin_trgm_ops);
+
+--changeset book-system:16102026-book-author-trgm-index dbms:postgresql runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_author_lower_trgm ON book USING gin (lower(author) gin_trgm_ops);
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-add-book-version dbms:postgresql
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
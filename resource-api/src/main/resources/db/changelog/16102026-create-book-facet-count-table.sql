@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-create-book-facet-count-table dbms:postgresql
+CREATE TABLE IF NOT EXISTS book_facet_count (
+    publication_year INTEGER,
+    author VARCHAR(255),
+    book_count BIGINT NOT NULL,
+    CONSTRAINT uq_book_facet_count UNIQUE NULLS NOT DISTINCT (publication_year, author)
+);
+
+--changeset book-system:16102026-backfill-book-facet-count dbms:postgresql
+INSERT INTO book_facet_count (publication_year, author, book_count)
+SELECT publication_year, author, COUNT(*) FROM book GROUP BY publication_year, author
+ON CONFLICT ON CONSTRAINT uq_book_facet_count DO UPDATE SET book_count = EXCLUDED.book_count;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-create-book-idempotency-key-table dbms:postgresql
+CREATE TABLE IF NOT EXISTS book_idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    response JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_idempotency_key_created_at ON book_idempotency_key (created_at);
@@ -0,0 +1,18 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-create-book-ingestion-job-table dbms:postgresql
+CREATE TABLE IF NOT EXISTS book_ingestion_job (
+    id UUID PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    total_rows INTEGER NOT NULL,
+    processed_rows INTEGER NOT NULL DEFAULT 0,
+    created_rows INTEGER NOT NULL DEFAULT 0,
+    failed_rows INTEGER NOT NULL DEFAULT 0,
+    failed_row_details JSONB NOT NULL DEFAULT '[]',
+    error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    finished_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_ingestion_job_finished_at ON book_ingestion_job (finished_at);
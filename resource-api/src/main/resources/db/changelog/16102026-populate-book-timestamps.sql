@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset book-system:16102026-backfill-book-timestamps dbms:postgresql
+UPDATE book
+SET created_at = COALESCE(created_at, now()),
+    updated_at = COALESCE(updated_at, created_at, now())
+WHERE created_at IS NULL OR updated_at IS NULL;
+
+--changeset book-system:16102026-book-timestamps-not-null dbms:postgresql
+ALTER TABLE book
+    ALTER COLUMN created_at SET DEFAULT now(),
+    ALTER COLUMN created_at SET NOT NULL,
+    ALTER COLUMN updated_at SET DEFAULT now(),
+    ALTER COLUMN updated_at SET NOT NULL;
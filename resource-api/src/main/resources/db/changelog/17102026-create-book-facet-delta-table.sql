@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset book-system:17102026-create-book-facet-delta-table dbms:postgresql
+CREATE TABLE IF NOT EXISTS book_facet_delta (
+    id BIGSERIAL PRIMARY KEY,
+    publication_year INTEGER,
+    author VARCHAR(255),
+    delta BIGINT NOT NULL
+);
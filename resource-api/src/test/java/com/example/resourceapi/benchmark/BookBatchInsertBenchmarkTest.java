@@ -0,0 +1,100 @@
+package com.example.resourceapi.benchmark;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.service.BookService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@code saveAll} with the configured JDBC batching and rewritten multi-row inserts against
+ * one INSERT round trip per row.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=BookBatchInsertBenchmarkTest}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Book batch insert benchmark")
+class BookBatchInsertBenchmarkTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta");
+    }
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    @DisplayName("Batched saveAll should outpace row-by-row inserts")
+    void batchedInsertsShouldOutpaceRowByRow(int rows) {
+        long rowByRowStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            books(rows).forEach(request -> entityManager.persist(toBook(request)));
+        });
+        double rowByRowMillis = (System.nanoTime() - rowByRowStart) / 1_000_000.0;
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta");
+
+        long batchedStart = System.nanoTime();
+        bookService.saveAll(books(rows));
+        double batchedMillis = (System.nanoTime() - batchedStart) / 1_000_000.0;
+
+        System.out.printf("Rows: %d%nRow by row: %.0f ms (%.0f rows/s)%nBatched: %.0f ms (%.0f rows/s)%n",
+                rows, rowByRowMillis, rows / rowByRowMillis * 1000, batchedMillis, rows / batchedMillis * 1000);
+
+        assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book", Long.class));
+        assertTrue(batchedMillis < rowByRowMillis);
+    }
+
+    private static List<CreateBookRequestDto> books(int rows) {
+        return IntStream.range(0, rows)
+                .mapToObj(i -> CreateBookRequestDto.builder()
+                        .title("Title " + i)
+                        .author("Author " + i % 500)
+                        .publicationYear(1900 + i % 125)
+                        .description("Description " + i)
+                        .build())
+                .toList();
+    }
+
+    private static Book toBook(CreateBookRequestDto request) {
+        Book book = new Book();
+        book.setTitle(request.title());
+        book.setAuthor(request.author());
+        book.setPublicationYear(request.publicationYear());
+        book.setDescription(request.description());
+        return book;
+    }
+}
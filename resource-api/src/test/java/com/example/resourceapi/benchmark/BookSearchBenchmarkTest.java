@@ -0,0 +1,96 @@
+package com.example.resourceapi.benchmark;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.repository.util.SearchPatternUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the substring search before and after the trigram indexes on a seeded table.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=BookSearchBenchmarkTest [-Dbenchmark.rows=1000000]}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Book substring search benchmark")
+class BookSearchBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int RUNS = 20;
+    private static final String SEARCH_TERM = "beef";
+
+    private static final String BEFORE_QUERY = "SELECT * FROM book WHERE " +
+            "(? IS NULL OR LOWER(title) LIKE LOWER(CONCAT('%', ?, '%'))) ORDER BY title LIMIT 10";
+    private static final String AFTER_QUERY = "SELECT * FROM book WHERE " +
+            "LOWER(title) LIKE ? ORDER BY title LIMIT 10";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE book");
+        jdbcTemplate.update("INSERT INTO book (id, title, author, publication_year, description) " +
+                "SELECT gen_random_uuid(), 'Title ' || md5(g::text), 'Author ' || (g % 50000), 1900 + g % 125, " +
+                "'Description ' || g FROM generate_series(1, ?) g", ROWS);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_book_title_lower_trgm ON book USING gin (lower(title) gin_trgm_ops)");
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @Test
+    @DisplayName("Trigram index should beat the sequential scan for substring search")
+    void trigramIndexShouldBeatSequentialScan() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_book_title_lower_trgm");
+        jdbcTemplate.execute("ANALYZE book");
+        Object[] beforeArgs = {SEARCH_TERM, SEARCH_TERM};
+        List<String> beforePlan = explain(BEFORE_QUERY, beforeArgs);
+        double beforeMillis = medianMillis(BEFORE_QUERY, beforeArgs);
+
+        jdbcTemplate.execute("CREATE INDEX idx_book_title_lower_trgm ON book USING gin (lower(title) gin_trgm_ops)");
+        jdbcTemplate.execute("ANALYZE book");
+        Object[] afterArgs = {SearchPatternUtil.toContainsPattern(SEARCH_TERM)};
+        List<String> afterPlan = explain(AFTER_QUERY, afterArgs);
+        double afterMillis = medianMillis(AFTER_QUERY, afterArgs);
+
+        System.out.printf("Rows: %d%nBefore: %.2f ms%n%s%nAfter: %.2f ms%n%s%n",
+                ROWS, beforeMillis, String.join("\n", beforePlan), afterMillis, String.join("\n", afterPlan));
+
+        assertTrue(afterPlan.stream().anyMatch(line -> line.contains("idx_book_title_lower_trgm")));
+        assertTrue(afterMillis < beforeMillis);
+    }
+
+    private List<String> explain(String sql, Object[] args) {
+        return jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class, args);
+    }
+
+    private double medianMillis(String sql, Object[] args) {
+        double[] timings = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            jdbcTemplate.queryForList(sql, args);
+            timings[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+}
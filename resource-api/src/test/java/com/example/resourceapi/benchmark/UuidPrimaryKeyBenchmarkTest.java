@@ -0,0 +1,85 @@
+package com.example.resourceapi.benchmark;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads the same number of rows keyed by random UUIDv4 and by time-ordered UUIDv7 and compares insert time,
+ * primary key index size and WAL volume.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=UuidPrimaryKeyBenchmarkTest [-Dbenchmark.rows=10000000]}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("UUID primary key benchmark")
+class UuidPrimaryKeyBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int BATCH_SIZE = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_benchmark_v4, uuid_benchmark_v7");
+    }
+
+    @Test
+    @DisplayName("UUIDv7 keys should load faster into a smaller index than UUIDv4 keys")
+    void uuidV7ShouldBeatUuidV4() {
+        Result v4 = load("uuid_benchmark_v4", UUID::randomUUID);
+        Result v7 = load("uuid_benchmark_v7", UuidV7Generator::next);
+
+        System.out.printf("Rows: %d%nv4: %.0f ms, index %d MB, WAL %d MB%nv7: %.0f ms, index %d MB, WAL %d MB%n",
+                ROWS, v4.millis(), v4.indexBytes() >> 20, v4.walBytes() >> 20,
+                v7.millis(), v7.indexBytes() >> 20, v7.walBytes() >> 20);
+
+        assertTrue(v7.indexBytes() < v4.indexBytes());
+        assertTrue(v7.millis() < v4.millis());
+    }
+
+    private Result load(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, payload INTEGER NOT NULL)");
+        String walStart = jdbcTemplate.queryForObject("SELECT pg_current_wal_insert_lsn()::text", String.class);
+
+        long start = System.nanoTime();
+        String sql = "INSERT INTO " + table + " (id, payload) VALUES (?, ?)";
+        for (int offset = 0; offset < ROWS; offset += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, ROWS); i++) {
+                batch.add(new Object[]{ids.get(), i});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        long walBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_insert_lsn(), ?::pg_lsn)::bigint", Long.class, walStart);
+        long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        return new Result(millis, indexBytes, walBytes);
+    }
+
+    private record Result(double millis, long indexBytes, long walBytes) {
+    }
+}
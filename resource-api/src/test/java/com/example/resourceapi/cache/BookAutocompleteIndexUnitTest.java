@@ -0,0 +1,231 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookAutocompleteIndex Unit Tests")
+class BookAutocompleteIndexUnitTest {
+
+    @Mock
+    private BookJdbcRepository bookJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(0);
+            consumer.accept("Spring in Action", "Craig Walls");
+            consumer.accept("Spring  Boot Up and Running", "Mark Heckler");
+            consumer.accept("Spring Microservices", "Craig Walls");
+            consumer.accept("Effective Java", "Joshua Bloch");
+            consumer.accept(null, null);
+            return null;
+        }).when(bookJdbcRepository).forEachTitleAndAuthor(any());
+
+        bookAutocompleteIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should suggest normalized prefix matches, alphabetically among equally common terms")
+    void shouldSuggestPrefixMatchesInAlphabeticalOrder() {
+        // When
+        List<PrefixIndex.Term> suggestions = bookAutocompleteIndex.suggestTitles("  SPRING ", 10);
+
+        // Then
+        assertEquals(List.of(
+                new PrefixIndex.Term("Spring  Boot Up and Running", 1),
+                new PrefixIndex.Term("Spring in Action", 1),
+                new PrefixIndex.Term("Spring Microservices", 1)), suggestions);
+        assertEquals(1, bookAutocompleteIndex.suggestTitles("spring b", 10).size());
+        assertEquals(2, bookAutocompleteIndex.suggestTitles("spring", 2).size());
+    }
+
+    @Test
+    @DisplayName("Should suggest the terms carried by the most books first")
+    void shouldRankSuggestionsByBookCount() {
+        // Given
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(),
+                List.of(book("Spring Microservices", "John Carnell"), book("Spring Microservices", "Magnus Larsson"))));
+
+        // When
+        List<PrefixIndex.Term> suggestions = bookAutocompleteIndex.suggestTitles("spring", 2);
+
+        // Then
+        assertEquals(List.of(
+                new PrefixIndex.Term("Spring Microservices", 3),
+                new PrefixIndex.Term("Spring  Boot Up and Running", 1)), suggestions);
+    }
+
+    @Test
+    @DisplayName("Should count books per author")
+    void shouldCountBooksPerAuthor() {
+        // When
+        List<PrefixIndex.Term> suggestions = bookAutocompleteIndex.suggestAuthors("c", 10);
+
+        // Then
+        assertEquals(List.of(new PrefixIndex.Term("Craig Walls", 2)), suggestions);
+    }
+
+    @Test
+    @DisplayName("Should follow committed book changes")
+    void shouldFollowCommittedBookChanges() {
+        // Given
+        CreateBookResponseDto before = book("Effective Java", "Joshua Bloch");
+        CreateBookResponseDto after = book("Effective Java 3rd Edition", "Joshua Bloch");
+        CreateBookResponseDto deleted = book("Spring in Action", "Craig Walls");
+
+        // When
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.UPDATE, List.of(before), List.of(after)));
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.DELETE, List.of(deleted), List.of()));
+
+        // Then
+        assertEquals(List.of(new PrefixIndex.Term("Effective Java 3rd Edition", 1)),
+                bookAutocompleteIndex.suggestTitles("effective", 10));
+        assertTrue(bookAutocompleteIndex.suggestTitles("spring in", 10).isEmpty());
+        assertEquals(List.of(new PrefixIndex.Term("Craig Walls", 1)), bookAutocompleteIndex.suggestAuthors("craig", 10));
+        assertEquals(List.of(new PrefixIndex.Term("Joshua Bloch", 1)), bookAutocompleteIndex.suggestAuthors("joshua", 10));
+    }
+
+    @Test
+    @DisplayName("Should reload only after an import marked the indexes stale")
+    void shouldRefreshOnlyWhenMarkedStale() {
+        // When
+        bookAutocompleteIndex.refreshIfStale();
+        bookAutocompleteIndex.onBooksImported(new BooksImportedEvent(100, UuidV7Generator.next(), UuidV7Generator.next()));
+        bookAutocompleteIndex.refreshIfStale();
+        bookAutocompleteIndex.refreshIfStale();
+
+        // Then - once at setup, once for the stale mark
+        verify(bookJdbcRepository, times(2)).forEachTitleAndAuthor(any());
+    }
+
+    @Test
+    @DisplayName("Should keep suggestions of an already queried prefix current with changes")
+    void shouldKeepQueriedSuggestionsCurrent() {
+        // Given
+        bookAutocompleteIndex.suggestTitles("spring", 10);
+
+        // When
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(),
+                List.of(book("Spring Microservices", "John Carnell"))));
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.DELETE,
+                List.of(book("Spring in Action", "Craig Walls")), List.of()));
+
+        // Then
+        assertEquals(List.of(
+                new PrefixIndex.Term("Spring Microservices", 2),
+                new PrefixIndex.Term("Spring  Boot Up and Running", 1)), bookAutocompleteIndex.suggestTitles("spring", 10));
+    }
+
+    @Test
+    @DisplayName("Should rank a prefix again when a term drops out of its full suggestions")
+    void shouldRankAgainWhenTermDropsOutOfFullSuggestions() {
+        // Given - one more "java" term than the suggestions hold, so "Java 50" is left out
+        List<CreateBookResponseDto> javaBooks = IntStream.rangeClosed(0, PrefixIndex.MAX_SUGGESTIONS)
+                .mapToObj(i -> book("Java %02d".formatted(i), "Author " + i))
+                .toList();
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), javaBooks));
+        assertEquals("Java 49", bookAutocompleteIndex.suggestTitles("java", PrefixIndex.MAX_SUGGESTIONS).get(49).value());
+
+        // When
+        bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.DELETE, List.of(javaBooks.get(0)), List.of()));
+
+        // Then
+        List<PrefixIndex.Term> suggestions = bookAutocompleteIndex.suggestTitles("java", PrefixIndex.MAX_SUGGESTIONS);
+        assertEquals(PrefixIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals("Java 01", suggestions.get(0).value());
+        assertEquals("Java 50", suggestions.get(49).value());
+    }
+
+    @Test
+    @DisplayName("Should not count twice the changes committed during a rebuild that its scan already holds")
+    void shouldNotReplayChangesTheScanAlreadyHolds() {
+        // Given
+        CreateBookResponseDto scannedCreate = book("Kotlin in Action", "Dmitry Jemerov", 0L);
+        CreateBookResponseDto missedCreate = book("Kotlin Coroutines", "Marcin Moskala", 0L);
+        CreateBookResponseDto beforeUpdate = book("Effective Java", "Joshua Bloch", 0L);
+        CreateBookResponseDto scannedUpdate = CreateBookResponseDto.builder()
+                .id(beforeUpdate.id())
+                .title("Effective Java 3rd Edition")
+                .author("Joshua Bloch")
+                .version(1L)
+                .build();
+        doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(0);
+            consumer.accept("Kotlin in Action", "Dmitry Jemerov");
+            consumer.accept("Effective Java 3rd Edition", "Joshua Bloch");
+            // Committed before the scan's snapshot was taken, but reported while it runs
+            bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(scannedCreate)));
+            bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.UPDATE, List.of(beforeUpdate), List.of(scannedUpdate)));
+            // Committed after the snapshot
+            bookAutocompleteIndex.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(missedCreate)));
+            return null;
+        }).when(bookJdbcRepository).forEachTitleAndAuthor(any());
+        when(bookJdbcRepository.findVersions(Set.of(scannedCreate.id(), beforeUpdate.id(), missedCreate.id())))
+                .thenReturn(Map.of(scannedCreate.id(), 0L, beforeUpdate.id(), 1L));
+
+        // When
+        bookAutocompleteIndex.rebuild();
+
+        // Then
+        assertEquals(List.of(
+                new PrefixIndex.Term("Kotlin Coroutines", 1),
+                new PrefixIndex.Term("Kotlin in Action", 1)), bookAutocompleteIndex.suggestTitles("kotlin", 10));
+        assertEquals(List.of(new PrefixIndex.Term("Effective Java 3rd Edition", 1)),
+                bookAutocompleteIndex.suggestTitles("effective", 10));
+        assertEquals(List.of(new PrefixIndex.Term("Joshua Bloch", 1)), bookAutocompleteIndex.suggestAuthors("joshua", 10));
+    }
+
+    @Test
+    @DisplayName("Should not suggest anything for a blank prefix")
+    void shouldNotSuggestAnythingForBlankPrefix() {
+        assertTrue(bookAutocompleteIndex.suggestTitles(" ", 10).isEmpty());
+    }
+
+    private static CreateBookResponseDto book(String title, String author) {
+        return book(title, author, null);
+    }
+
+    private static CreateBookResponseDto book(String title, String author, Long version) {
+        return CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .author(author)
+                .publicationYear(2020)
+                .version(version)
+                .build();
+    }
+}
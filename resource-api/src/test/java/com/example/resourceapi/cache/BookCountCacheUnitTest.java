@@ -0,0 +1,79 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookCountProperties;
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.repository.filter.BookFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("BookCountCache Unit Tests")
+class BookCountCacheUnitTest {
+
+    private BookCountCache bookCountCache;
+    private AtomicInteger counts;
+
+    @BeforeEach
+    void setUp() {
+        bookCountCache = new BookCountCache(new BookCountProperties(100, Duration.ofMinutes(1), 1000),
+                new ReplicaLag(new BookDataSourceRoutingProperties(false, List.of(), null, null, null, null)));
+        counts = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should evict only counts whose filter matches a changed book")
+    void shouldEvictOnlyCountsMatchingChangedBook() {
+        // Given
+        bookCountCache.getOrCompute(BookFilter.of("spring", null, null), counts::incrementAndGet);
+        bookCountCache.getOrCompute(BookFilter.of("kotlin", null, null), counts::incrementAndGet);
+
+        // When
+        bookCountCache.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(book("Spring in Action"))));
+
+        // Then
+        assertNull(bookCountCache.getIfPresent(BookFilter.of("spring", null, null)));
+        assertNotNull(bookCountCache.getIfPresent(BookFilter.of("kotlin", null, null)));
+    }
+
+    @Test
+    @DisplayName("Should drop every count when a change batch is too large to match filter by filter")
+    void shouldDropEveryCountForLargeChangeBatch() {
+        // Given
+        bookCountCache.getOrCompute(BookFilter.of("spring", null, null), counts::incrementAndGet);
+        bookCountCache.getOrCompute(BookFilter.of("kotlin", null, null), counts::incrementAndGet);
+        List<CreateBookResponseDto> changed = IntStream.rangeClosed(0, BookPageCache.MAX_SELECTIVELY_EVICTED_BOOKS)
+                .mapToObj(i -> book("Unrelated " + i))
+                .toList();
+
+        // When
+        bookCountCache.onBooksChanged(new BooksChangedEvent(EventType.DELETE, changed, List.of()));
+        bookCountCache.getOrCompute(BookFilter.of("spring", null, null), counts::incrementAndGet);
+        bookCountCache.getOrCompute(BookFilter.of("kotlin", null, null), counts::incrementAndGet);
+
+        // Then
+        assertEquals(4, counts.get());
+    }
+
+    private static CreateBookResponseDto book(String title) {
+        return CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .author("Someone")
+                .publicationYear(2000)
+                .build();
+    }
+}
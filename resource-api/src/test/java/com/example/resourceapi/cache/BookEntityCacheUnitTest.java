@@ -0,0 +1,92 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.config.props.BookEntityCacheProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("BookEntityCache Unit Tests")
+class BookEntityCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookEntityCache bookEntityCache;
+    private AtomicInteger loads;
+    private UUID bookId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookEntityCache = new BookEntityCache(new BookEntityCacheProperties(100, Duration.ofMinutes(1)), meterRegistry,
+                new ReplicaLag(new BookDataSourceRoutingProperties(false, List.of(), null, null, null, null)));
+        loads = new AtomicInteger();
+        bookId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache and record hits")
+    void shouldServeRepeatedLookupsFromCache() {
+        // When
+        CreateBookResponseDto first = bookEntityCache.getOrLoad(bookId, () -> load(bookId, "Dune"));
+        CreateBookResponseDto second = bookEntityCache.getOrLoad(bookId, () -> load(bookId, "Dune"));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", BookEntityCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict updated and deleted books but keep cached ones on create")
+    void shouldEvictOnUpdateAndDelete() {
+        // Given
+        CreateBookResponseDto cached = bookEntityCache.getOrLoad(bookId, () -> load(bookId, "Dune"));
+        CreateBookResponseDto updated = book(bookId, "Dune Messiah");
+
+        // When
+        bookEntityCache.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(book(UUID.randomUUID(), "Emma"))));
+        assertEquals(1, bookEntityCache.estimatedSize());
+        bookEntityCache.onBooksChanged(new BooksChangedEvent(EventType.UPDATE, List.of(cached), List.of(updated)));
+
+        // Then
+        assertEquals("Dune Messiah", bookEntityCache.getOrLoad(bookId, () -> load(bookId, "Dune Messiah")).title());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a book loaded while an eviction happened")
+    void shouldNotCacheBookLoadedAcrossEviction() {
+        // When
+        bookEntityCache.getOrLoad(bookId, () -> {
+            CreateBookResponseDto stale = load(bookId, "Dune");
+            bookEntityCache.evictAll(List.of(bookId));
+            return stale;
+        });
+
+        // Then
+        assertEquals(0, bookEntityCache.estimatedSize());
+    }
+
+    private CreateBookResponseDto load(UUID id, String title) {
+        loads.incrementAndGet();
+        return book(id, title);
+    }
+
+    private static CreateBookResponseDto book(UUID id, String title) {
+        return CreateBookResponseDto.builder().id(id).title(title).author("Frank Herbert").publicationYear(1965).build();
+    }
+}
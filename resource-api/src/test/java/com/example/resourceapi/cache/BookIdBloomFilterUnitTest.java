@@ -0,0 +1,196 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookBloomProperties;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookIdBloomFilter Unit Tests")
+class BookIdBloomFilterUnitTest {
+
+    @Mock
+    private BookJdbcRepository bookJdbcRepository;
+
+    private BookIdBloomFilter bookIdBloomFilter;
+    private List<UUID> storedIds;
+
+    @BeforeEach
+    void setUp() {
+        bookIdBloomFilter = new BookIdBloomFilter(new BookBloomProperties(true, 10_000, 0.01, Duration.ofHours(1)), bookJdbcRepository);
+        storedIds = new ArrayList<>(IntStream.range(0, 1_000).mapToObj(i -> UuidV7Generator.next()).toList());
+    }
+
+    @Test
+    @DisplayName("Should report every id as possibly present until the first build")
+    void shouldFailOpenBeforeFirstBuild() {
+        assertTrue(bookIdBloomFilter.mightContain(UUID.randomUUID()));
+        assertTrue(bookIdBloomFilter.mightContain(null));
+    }
+
+    @Test
+    @DisplayName("Should contain every stored id and rule out most unknown ids after a rebuild")
+    void shouldContainStoredIdsAfterRebuild() {
+        // Given
+        stubStoredIds();
+
+        // When
+        bookIdBloomFilter.rebuild();
+
+        // Then
+        storedIds.forEach(id -> assertTrue(bookIdBloomFilter.mightContain(id)));
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> bookIdBloomFilter.mightContain(UuidV7Generator.next()))
+                .count();
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should keep ids added during a rebuild scan")
+    void shouldKeepIdsAddedDuringRebuild() {
+        // Given
+        UUID addedDuringScan = UuidV7Generator.next();
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(0);
+            storedIds.forEach(consumer);
+            bookIdBloomFilter.add(addedDuringScan);
+            return null;
+        }).when(bookJdbcRepository).forEachId(any());
+
+        // When
+        bookIdBloomFilter.rebuild();
+
+        // Then
+        assertTrue(bookIdBloomFilter.mightContain(addedDuringScan));
+    }
+
+    @Test
+    @DisplayName("Should add created ids and drop deleted ones on the next rebuild")
+    void shouldTrackCreatesAndDropDeletesOnRebuild() {
+        // Given
+        stubStoredIds();
+        bookIdBloomFilter.rebuild();
+        UUID createdId = UuidV7Generator.next();
+        List<UUID> deletedIds = List.copyOf(storedIds.subList(0, 500));
+
+        // When
+        bookIdBloomFilter.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(),
+                List.of(CreateBookResponseDto.builder().id(createdId).title("t").author("a").publicationYear(2000).build())));
+        storedIds.removeAll(deletedIds);
+        storedIds.add(createdId);
+
+        // Then
+        assertTrue(bookIdBloomFilter.mightContain(createdId));
+        deletedIds.forEach(id -> assertTrue(bookIdBloomFilter.mightContain(id)));
+
+        bookIdBloomFilter.rebuild();
+        assertTrue(bookIdBloomFilter.mightContain(createdId));
+        long stillPresent = deletedIds.stream().filter(bookIdBloomFilter::mightContain).count();
+        assertTrue(stillPresent < 25, "deleted ids still present: " + stillPresent);
+    }
+
+    @Test
+    @DisplayName("Should rule out random and freshly minted ids that were never created")
+    void shouldRuleOutRandomIdsAfterRebuild() {
+        // Given
+        stubStoredIds();
+
+        // When
+        bookIdBloomFilter.rebuild();
+
+        // Then - e.g. a scraper probing random v4 ids
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> bookIdBloomFilter.mightContain(UUID.randomUUID())
+                        || bookIdBloomFilter.mightContain(UuidV7Generator.next()))
+                .count();
+        assertTrue(falsePositives < 400, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should add the ids of an import, whichever node ran it, by their range")
+    void shouldAddImportedIdRange() {
+        // Given
+        stubStoredIds();
+        bookIdBloomFilter.rebuild();
+        List<UUID> importedIds = IntStream.range(0, 100).mapToObj(i -> UuidV7Generator.next()).toList();
+        UUID firstId = importedIds.get(0);
+        UUID lastId = importedIds.get(importedIds.size() - 1);
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(2);
+            importedIds.forEach(consumer);
+            return null;
+        }).when(bookJdbcRepository).forEachIdBetween(eq(firstId), eq(lastId), any());
+
+        // When
+        bookIdBloomFilter.onBooksImported(new BooksImportedEvent(importedIds.size(), firstId, lastId));
+
+        // Then
+        importedIds.forEach(id -> assertTrue(bookIdBloomFilter.mightContain(id)));
+    }
+
+    @Test
+    @DisplayName("Should not rule out any id after missing a create, until the next rebuild")
+    void shouldDistrustNegativesAfterMissedCreate() {
+        // Given
+        stubStoredIds();
+        bookIdBloomFilter.rebuild();
+        UUID importedId = UuidV7Generator.next();
+        doThrow(new QueryTimeoutException("timeout")).when(bookJdbcRepository).forEachIdBetween(any(), any(), any());
+
+        // When
+        bookIdBloomFilter.onBooksImported(new BooksImportedEvent(1, importedId, importedId));
+
+        // Then
+        assertTrue(bookIdBloomFilter.mightContain(importedId));
+        assertTrue(IntStream.range(0, 100).allMatch(i -> bookIdBloomFilter.mightContain(UUID.randomUUID())));
+
+        storedIds.add(importedId);
+        bookIdBloomFilter.rebuild();
+        assertTrue(bookIdBloomFilter.mightContain(importedId));
+        assertTrue(IntStream.range(0, 100).anyMatch(i -> !bookIdBloomFilter.mightContain(UUID.randomUUID())));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when disabled")
+    void shouldSkipRebuildWhenDisabled() {
+        // Given
+        BookIdBloomFilter disabled = new BookIdBloomFilter(new BookBloomProperties(false, 10_000, 0.01, Duration.ofHours(1)), bookJdbcRepository);
+
+        // When
+        disabled.rebuild();
+
+        // Then
+        assertTrue(disabled.mightContain(UUID.randomUUID()));
+        verifyNoInteractions(bookJdbcRepository);
+    }
+
+    private void stubStoredIds() {
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(0);
+            List.copyOf(storedIds).forEach(consumer);
+            return null;
+        }).when(bookJdbcRepository).forEachId(any());
+    }
+}
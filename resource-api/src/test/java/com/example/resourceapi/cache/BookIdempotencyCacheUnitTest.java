@@ -0,0 +1,54 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookIdempotencyProperties;
+import com.example.resourceapi.repository.idempotency.IdempotentCreation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("BookIdempotencyCache Unit Tests")
+class BookIdempotencyCacheUnitTest {
+
+    private BookIdempotencyCache bookIdempotencyCache;
+
+    @BeforeEach
+    void setUp() {
+        bookIdempotencyCache = new BookIdempotencyCache(
+                new BookIdempotencyProperties(Duration.ofHours(1), 100, Duration.ofMinutes(5), 1000),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should return a recently stored creation")
+    void shouldReturnRecentlyStoredCreation() {
+        // Given
+        IdempotentCreation creation = new IdempotentCreation("hash", List.of(), Instant.now());
+
+        // When
+        bookIdempotencyCache.put("key", creation);
+
+        // Then
+        assertSame(creation, bookIdempotencyCache.getIfPresent("key"));
+    }
+
+    @Test
+    @DisplayName("Should not keep a creation whose key has already expired")
+    void shouldNotKeepExpiredCreation() {
+        // Given - stored two hours ago with a one hour TTL, e.g. loaded from the table just before the purge
+        IdempotentCreation creation = new IdempotentCreation("hash", List.of(), Instant.now().minus(Duration.ofHours(2)));
+
+        // When
+        bookIdempotencyCache.put("key", creation);
+
+        // Then
+        assertNull(bookIdempotencyCache.getIfPresent("key"));
+    }
+}
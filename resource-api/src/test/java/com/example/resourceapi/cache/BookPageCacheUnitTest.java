@@ -0,0 +1,192 @@
+package com.example.resourceapi.cache;
+
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.config.props.BookPageCacheProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.repository.filter.BookFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("BookPageCache Unit Tests")
+class BookPageCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookPageCache bookPageCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookPageCache = new BookPageCache(new BookPageCacheProperties(100, Duration.ofMinutes(1)), meterRegistry,
+                new ReplicaLag(new BookDataSourceRoutingProperties(false, List.of(), null, null, null, null)));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache and record hits")
+    void shouldServeRepeatedRequestsFromCache() {
+        // Given
+        BookPageCache.Key key = key("spring", null);
+
+        // When
+        PagedBooksResponseDto<CreateBookResponseDto> first = bookPageCache.getOrLoad(key, this::load);
+        PagedBooksResponseDto<CreateBookResponseDto> second = bookPageCache.getOrLoad(key("SPRING", null), this::load);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", BookPageCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", BookPageCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict only pages whose filter matches a changed book")
+    void shouldEvictOnlyPagesMatchingChangedBook() {
+        // Given
+        bookPageCache.getOrLoad(key("spring", null), this::load);
+        bookPageCache.getOrLoad(key("kotlin", null), this::load);
+        bookPageCache.getOrLoad(key(null, 2023), this::load);
+        CreateBookResponseDto changed = CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title("Spring in Action")
+                .author("Craig Walls")
+                .publicationYear(2022)
+                .build();
+
+        // When
+        bookPageCache.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(changed)));
+        bookPageCache.getOrLoad(key("spring", null), this::load);
+        bookPageCache.getOrLoad(key("kotlin", null), this::load);
+        bookPageCache.getOrLoad(key(null, 2023), this::load);
+
+        // Then - only the "spring" page is loaded again
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop every page when a change batch is too large to match filter by filter")
+    void shouldDropEveryPageForLargeChangeBatch() {
+        // Given
+        bookPageCache.getOrLoad(key("spring", null), this::load);
+        bookPageCache.getOrLoad(key("kotlin", null), this::load);
+        List<CreateBookResponseDto> changed = IntStream.rangeClosed(0, BookPageCache.MAX_SELECTIVELY_EVICTED_BOOKS)
+                .mapToObj(i -> CreateBookResponseDto.builder()
+                        .id(UUID.randomUUID())
+                        .title("Unrelated " + i)
+                        .author("Someone")
+                        .publicationYear(2000)
+                        .build())
+                .toList();
+
+        // When
+        bookPageCache.onBooksChanged(new BooksChangedEvent(EventType.DELETE, changed, List.of()));
+
+        // Then
+        assertEquals(0, bookPageCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should drop every page after a bulk import")
+    void shouldDropEveryPageAfterBulkImport() {
+        // Given
+        bookPageCache.getOrLoad(key("spring", null), this::load);
+        bookPageCache.getOrLoad(key("kotlin", null), this::load);
+
+        // When
+        bookPageCache.onBooksImported(new BooksImportedEvent(1000, UuidV7Generator.next(), UuidV7Generator.next()));
+
+        // Then
+        assertEquals(0, bookPageCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should not cache a page loaded while a write committed")
+    void shouldNotCachePageLoadedWhileWriteCommitted() {
+        // Given
+        BookPageCache.Key key = key("spring", null);
+
+        // When
+        bookPageCache.getOrLoad(key, () -> {
+            bookPageCache.onBooksImported(new BooksImportedEvent(1, UuidV7Generator.next(), UuidV7Generator.next()));
+            return load();
+        });
+        bookPageCache.getOrLoad(key, this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache pages while the replica lag is unknown or above the cacheable limit")
+    void shouldNotCachePagesWhileReplicaLagUnknown() {
+        // Given - routed reads, no health check has measured the replicas yet
+        ReplicaLag replicaLag = new ReplicaLag(
+                new BookDataSourceRoutingProperties(true, List.of(), null, null, null, Duration.ofSeconds(1)));
+        BookPageCache routedCache = new BookPageCache(new BookPageCacheProperties(100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), replicaLag);
+
+        // When
+        routedCache.getOrLoad(key("spring", null), this::load);
+        replicaLag.update(Duration.ofSeconds(2));
+        routedCache.getOrLoad(key("spring", null), this::load);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, routedCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should not cache a page loaded before the replicas could replay the last invalidated write")
+    void shouldNotCachePageLoadedWithinReplicaLagOfInvalidation() {
+        // Given
+        ReplicaLag replicaLag = new ReplicaLag(
+                new BookDataSourceRoutingProperties(true, List.of(), null, null, null, Duration.ofHours(1)));
+        replicaLag.update(Duration.ofMinutes(1));
+        BookPageCache routedCache = new BookPageCache(new BookPageCacheProperties(100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), replicaLag);
+
+        // When
+        routedCache.onBooksImported(new BooksImportedEvent(1, UuidV7Generator.next(), UuidV7Generator.next()));
+        routedCache.getOrLoad(key("spring", null), this::load);
+        routedCache.getOrLoad(key("spring", null), this::load);
+
+        // Then - a replica a minute behind may not hold the import yet
+        assertEquals(2, loads.get());
+    }
+
+    private PagedBooksResponseDto<CreateBookResponseDto> load() {
+        loads.incrementAndGet();
+        return PagedBooksResponseDto.<CreateBookResponseDto>builder()
+                .books(List.of())
+                .currentPage(0)
+                .pageSize(10)
+                .build();
+    }
+
+    private static BookPageCache.Key key(String title, Integer publicationYear) {
+        return new BookPageCache.Key(BookFilter.of(title, null, publicationYear),
+                PageRequest.of(0, 10, Sort.by("title", "id")), TotalCountMode.EXACT);
+    }
+}
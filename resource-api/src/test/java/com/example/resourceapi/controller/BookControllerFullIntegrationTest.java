@@ -5,6 +5,7 @@ import com.example.resourceapi.dto.request.CreateBookRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
 import com.example.resourceapi.entity.Book;
 import com.example.resourceapi.repository.BookRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,15 +16,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -284,6 +290,38 @@ class BookControllerFullIntegrationTest {
                 .andExpect(jsonPath("$.hasNext").value(false));
     }
 
+    @Test
+    @DisplayName("Should stream filtered books as gzip-compressed NDJSON")
+    void shouldStreamFilteredBooksAsGzipCompressedNdjson() throws Exception {
+        // Given
+        createTestBooksInDatabase();
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/books/export")
+                        .param("author", "author 2")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Then
+        String ndjson;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            ndjson = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = ndjson.split("\n");
+        assertEquals(1, lines.length);
+        JsonNode book = objectMapper.readTree(lines[0]);
+        assertEquals("Book 2", book.get("title").asText());
+        assertEquals(2022, book.get("publicationYear").asInt());
+        assertTrue(ndjson.endsWith("\n"));
+    }
+
     private void createTestBooksInDatabase() {
         for (int i = 1; i <= 5; i++) {
             Book book = new Book();
@@ -1,11 +1,36 @@
 package com.example.resourceapi.controller;
 
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.request.DeleteBooksRequestDto;
+import com.example.resourceapi.dto.request.LookupBooksRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
+import com.example.resourceapi.dto.response.AutocompleteResponseDto;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.DeleteBooksResponseDto;
+import com.example.resourceapi.dto.response.ImportBooksResponseDto;
+import com.example.resourceapi.dto.response.LookupBooksResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.dto.response.UpdateBooksResponseDto;
+import com.example.resourceapi.dto.response.UpsertBooksResponseDto;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.enums.BookImportFormat;
+import com.example.resourceapi.enums.IngestionJobStatus;
+import com.example.resourceapi.enums.TotalCountMode;
 import com.example.resourceapi.exception.BookNotFoundException;
+import com.example.resourceapi.exception.IngestionJobNotFoundException;
+import com.example.resourceapi.exception.InvalidScrollTokenException;
+import com.example.resourceapi.service.BookIdempotencyService;
+import com.example.resourceapi.service.impl.BookAutocompleteServiceImpl;
+import com.example.resourceapi.service.impl.BookExportServiceImpl;
+import com.example.resourceapi.service.impl.BookFacetServiceImpl;
+import com.example.resourceapi.service.impl.BookIdempotencyServiceImpl;
+import com.example.resourceapi.service.impl.BookImportServiceImpl;
+import com.example.resourceapi.service.impl.BookIngestionServiceImpl;
 import com.example.resourceapi.service.impl.BookServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,16 +42,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,13 +81,31 @@ class BookControllerUnitTest {
     @MockBean
     private BookServiceImpl bookService;
 
+    @MockBean
+    private BookFacetServiceImpl bookFacetService;
+
+    @MockBean
+    private BookAutocompleteServiceImpl bookAutocompleteService;
+
+    @MockBean
+    private BookExportServiceImpl bookExportService;
+
+    @MockBean
+    private BookImportServiceImpl bookImportService;
+
+    @MockBean
+    private BookIngestionServiceImpl bookIngestionService;
+
+    @MockBean
+    private BookIdempotencyServiceImpl bookIdempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private CreateBookRequestDto testRequestDto;
     private CreateBookResponseDto testResponseDto;
     private UpdateBookRequestDto testUpdateDto;
-    private PagedBooksResponseDto testPagedResponse;
+    private PagedBooksResponseDto<CreateBookResponseDto> testPagedResponse;
     private UUID testBookId;
 
     @BeforeEach
@@ -80,9 +138,9 @@ class BookControllerUnitTest {
                 .description(JsonNullable.of("Updated Description"))
                 .build();
 
-        testPagedResponse = PagedBooksResponseDto.builder()
+        testPagedResponse = PagedBooksResponseDto.<CreateBookResponseDto>builder()
                 .books(List.of(testResponseDto))
-                .totalElements(1)
+                .totalElements(1L)
                 .totalPages(1)
                 .currentPage(0)
                 .pageSize(10)
@@ -142,7 +200,7 @@ class BookControllerUnitTest {
     @DisplayName("Should get all books with pagination")
     void shouldGetAllBooksWithPagination() throws Exception {
         // Given
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT)))
                 .thenReturn(testPagedResponse);
 
         // When & Then
@@ -160,7 +218,7 @@ class BookControllerUnitTest {
                 .andExpect(jsonPath("$.hasNext").value(false))
                 .andExpect(jsonPath("$.hasPrevious").value(false));
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT));
     }
 
     @Test
@@ -171,7 +229,7 @@ class BookControllerUnitTest {
         String author = "John";
         Integer year = 2023;
 
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(title), eq(author), eq(year)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(title), eq(author), eq(year), eq(TotalCountMode.EXACT)))
                 .thenReturn(testPagedResponse);
 
         // When & Then
@@ -185,7 +243,7 @@ class BookControllerUnitTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.books").isArray());
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(title), eq(author), eq(year));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(title), eq(author), eq(year), eq(TotalCountMode.EXACT));
     }
 
     @Test
@@ -206,6 +264,78 @@ class BookControllerUnitTest {
         verify(bookService).findById(testBookId);
     }
 
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without fetching the book")
+    void shouldReturn304ForUnchangedBook() throws Exception {
+        // Given
+        Instant updatedAt = Instant.parse("2025-09-22T10:15:30.123456Z");
+        when(bookService.findById(testBookId)).thenReturn(CreateBookResponseDto.builder()
+                .id(testBookId).title("Spring Boot Guide").updatedAt(updatedAt).build());
+        String eTag = mockMvc.perform(get("/api/v1/books/{id}", testBookId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(bookService.findUpdatedAt(testBookId)).thenReturn(Optional.of(updatedAt));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/{id}", testBookId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        verify(bookService, times(1)).findById(testBookId);
+    }
+
+    @Test
+    @DisplayName("Should answer a weak If-None-Match listing the book's ETag with 304")
+    void shouldReturn304ForWeakMatchingETag() throws Exception {
+        // Given
+        Instant updatedAt = Instant.parse("2025-09-22T10:15:30.123456Z");
+        when(bookService.findUpdatedAt(testBookId)).thenReturn(Optional.of(updatedAt));
+        String eTag = BookETags.forBook(updatedAt);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/{id}", testBookId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(bookService, never()).findById(testBookId);
+    }
+
+    @Test
+    @DisplayName("Should return the changed book with a new ETag when If-None-Match is stale")
+    void shouldReturnChangedBookForStaleETag() throws Exception {
+        // Given
+        Instant updatedAt = Instant.parse("2025-09-22T10:15:30.123456Z");
+        when(bookService.findUpdatedAt(testBookId)).thenReturn(Optional.of(updatedAt));
+        when(bookService.findById(testBookId)).thenReturn(CreateBookResponseDto.builder()
+                .id(testBookId).title("Spring Boot Guide").updatedAt(updatedAt).build());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/{id}", testBookId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not("\"stale\"")))
+                .andExpect(jsonPath("$.updatedAt").value("2025-09-22T10:15:30.123456Z"));
+    }
+
+    @Test
+    @DisplayName("Should tag pages with a weak ETag and answer a matching If-None-Match with 304")
+    void shouldReturn304ForUnchangedPage() throws Exception {
+        // Given
+        when(bookService.findBooksWithPagination(any(Pageable.class), isNull(), isNull(), isNull(), eq(TotalCountMode.EXACT)))
+                .thenReturn(testPagedResponse);
+        String eTag = mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Should return 404 when book not found by ID")
     void shouldReturn404WhenBookNotFoundById() throws Exception {
@@ -249,6 +379,28 @@ class BookControllerUnitTest {
         verify(bookService).updateBooks(any(List.class));
     }
 
+    @Test
+    @DisplayName("Should upsert books and list inserted and updated IDs")
+    void shouldUpsertBooks() throws Exception {
+        // Given
+        UUID newId = UUID.randomUUID();
+        List<UpsertBookRequestDto> upserts = List.of(
+                UpsertBookRequestDto.builder().id(testBookId).title("Replaced Title").publicationYear(2024).build(),
+                UpsertBookRequestDto.builder().id(newId).title("New Title").publicationYear(2024).build());
+        when(bookService.upsertBooks(upserts)).thenReturn(UpsertBooksResponseDto.builder()
+                .insertedIds(List.of(newId))
+                .updatedIds(List.of(testBookId))
+                .build());
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(upserts)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.insertedIds[0]").value(newId.toString()))
+                .andExpect(jsonPath("$.updatedIds[0]").value(testBookId.toString()));
+    }
+
     @Test
     @DisplayName("Should delete book successfully")
     void shouldDeleteBookSuccessfully() throws Exception {
@@ -276,6 +428,112 @@ class BookControllerUnitTest {
         verify(bookService).deleteBook(nonExistentId);
     }
 
+    @Test
+    @DisplayName("Should delete books by ID list")
+    void shouldDeleteBooksByIdList() throws Exception {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        when(bookService.deleteBooks(List.of(testBookId, missingId))).thenReturn(DeleteBooksResponseDto.builder()
+                .deletedCount(1)
+                .notFoundIds(List.of(missingId))
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(DeleteBooksRequestDto.builder()
+                                .ids(List.of(testBookId, missingId))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedCount").value(1))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should delete books by filter")
+    void shouldDeleteBooksByFilter() throws Exception {
+        // Given
+        when(bookService.deleteBooksMatching(null, "walls", 2023)).thenReturn(DeleteBooksResponseDto.builder()
+                .deletedCount(3)
+                .notFoundIds(List.of())
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\": \"walls\", \"publicationYear\": 2023}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedCount").value(3));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk delete that selects books by ID list and filter at once")
+    void shouldRejectBulkDeleteWithIdsAndFilter() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(DeleteBooksRequestDto.builder()
+                                .ids(List.of(testBookId))
+                                .title("spring")
+                                .build())))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should replay stored response for a repeated Idempotency-Key")
+    void shouldReplayStoredResponseForRepeatedIdempotencyKey() throws Exception {
+        // Given
+        when(bookIdempotencyService.saveAll("retry-1", List.of(testRequestDto)))
+                .thenReturn(new BookIdempotencyService.Result(List.of(testResponseDto), true));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testRequestDto))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$[0].id").value(testBookId.toString()));
+
+        verify(bookService, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should accept ingestion job and point to its status")
+    void shouldAcceptIngestionJob() throws Exception {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        when(bookIngestionService.submit(List.of(testRequestDto))).thenReturn(BookIngestionJobResponseDto.builder()
+                .id(jobId)
+                .status(IngestionJobStatus.QUEUED)
+                .totalRows(1)
+                .failedRowDetails(List.of())
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testRequestDto))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/books/jobs/" + jobId))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.totalRows").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown ingestion job")
+    void shouldReturn404ForUnknownIngestionJob() throws Exception {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        when(bookIngestionService.findJob(jobId)).thenThrow(new IngestionJobNotFoundException(jobId));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/jobs/{jobId}", jobId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should handle validation errors")
     void shouldHandleValidationErrors() throws Exception {
@@ -334,7 +592,7 @@ class BookControllerUnitTest {
     @DisplayName("Should handle pagination with default parameters")
     void shouldHandlePaginationWithDefaultParameters() throws Exception {
         // Given
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT)))
                 .thenReturn(testPagedResponse);
 
         // When & Then - Request without pagination parameters
@@ -342,7 +600,7 @@ class BookControllerUnitTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT));
     }
 
     @Test
@@ -350,7 +608,7 @@ class BookControllerUnitTest {
     void shouldHandleInvalidPaginationParameters() throws Exception {
         // Given - Spring Boot handles negative page/size gracefully by default
         // So we expect the service to be called but with corrected parameters
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT)))
                 .thenReturn(testPagedResponse);
 
         // When & Then - Invalid parameters are corrected by Spring Boot
@@ -359,7 +617,7 @@ class BookControllerUnitTest {
                         .param("size", "0"))  // Gets corrected to default size
                 .andExpect(status().isOk()); // Changed from isBadRequest()
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT));
     }
 
     @Test
@@ -493,7 +751,7 @@ class BookControllerUnitTest {
         String titleWithSpecialChars = "Spring & Boot: Advanced";
         String authorWithSpecialChars = "José María";
 
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(titleWithSpecialChars), eq(authorWithSpecialChars), eq(null)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(titleWithSpecialChars), eq(authorWithSpecialChars), eq(null), eq(TotalCountMode.EXACT)))
                 .thenReturn(testPagedResponse);
 
         // When & Then
@@ -502,16 +760,16 @@ class BookControllerUnitTest {
                         .param("author", authorWithSpecialChars))
                 .andExpect(status().isOk());
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(titleWithSpecialChars), eq(authorWithSpecialChars), eq(null));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(titleWithSpecialChars), eq(authorWithSpecialChars), eq(null), eq(TotalCountMode.EXACT));
     }
 
     @Test
     @DisplayName("Should handle large page size requests")
     void shouldHandleLargePageSizeRequests() throws Exception {
         // Given
-        PagedBooksResponseDto largePageResponse = PagedBooksResponseDto.builder()
+        PagedBooksResponseDto<CreateBookResponseDto> largePageResponse = PagedBooksResponseDto.<CreateBookResponseDto>builder()
                 .books(Collections.emptyList())
-                .totalElements(0)
+                .totalElements(0L)
                 .totalPages(0)
                 .currentPage(0)
                 .pageSize(1000)
@@ -519,7 +777,7 @@ class BookControllerUnitTest {
                 .hasPrevious(false)
                 .build();
 
-        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null)))
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT)))
                 .thenReturn(largePageResponse);
 
         // When & Then
@@ -529,6 +787,331 @@ class BookControllerUnitTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.pageSize").value(1000));
 
-        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null));
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.EXACT));
+    }
+
+    @Test
+    @DisplayName("Should scroll books with keyset pagination")
+    void shouldScrollBooksWithKeysetPagination() throws Exception {
+        // Given
+        ScrollBooksResponseDto scrollResponse = ScrollBooksResponseDto.builder()
+                .books(List.of(testResponseDto))
+                .pageSize(1)
+                .hasNext(true)
+                .nextToken("next-token")
+                .build();
+
+        when(bookService.scrollBooks("previous-token", 1, "author", Sort.Direction.DESC, null, "John", null))
+                .thenReturn(scrollResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/scroll")
+                        .param("token", "previous-token")
+                        .param("size", "1")
+                        .param("sortBy", "author")
+                        .param("direction", "DESC")
+                        .param("author", "John"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.books.length()").value(1))
+                .andExpect(jsonPath("$.books[0].id").value(testBookId.toString()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextToken").value("next-token"));
+
+        verify(bookService).scrollBooks("previous-token", 1, "author", Sort.Direction.DESC, null, "John", null);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid scroll token")
+    void shouldReturn400ForInvalidScrollToken() throws Exception {
+        // Given
+        when(bookService.scrollBooks(eq("broken"), anyInt(), any(), any(), any(), any(), any()))
+                .thenThrow(new InvalidScrollTokenException("broken"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/scroll").param("token", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Invalid scroll token")));
+    }
+
+    @Test
+    @DisplayName("Should omit totals when listing books without total")
+    void shouldOmitTotalsWhenListingBooksWithoutTotal() throws Exception {
+        // Given
+        PagedBooksResponseDto<CreateBookResponseDto> slicedResponse = PagedBooksResponseDto.<CreateBookResponseDto>builder()
+                .books(List.of(testResponseDto))
+                .currentPage(0)
+                .pageSize(10)
+                .hasNext(true)
+                .hasPrevious(false)
+                .build();
+
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.NONE)))
+                .thenReturn(slicedResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books")
+                        .param("withTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.NONE));
+    }
+
+    @Test
+    @DisplayName("Should request estimated totals when asked")
+    void shouldRequestEstimatedTotalsWhenAsked() throws Exception {
+        // Given
+        PagedBooksResponseDto<CreateBookResponseDto> estimatedResponse = PagedBooksResponseDto.<CreateBookResponseDto>builder()
+                .books(List.of(testResponseDto))
+                .totalElements(1_000_000L)
+                .totalPages(100_000)
+                .totalElementsEstimated(true)
+                .currentPage(0)
+                .pageSize(10)
+                .hasNext(true)
+                .hasPrevious(false)
+                .build();
+
+        when(bookService.findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.ESTIMATED)))
+                .thenReturn(estimatedResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books")
+                        .param("estimateTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1_000_000))
+                .andExpect(jsonPath("$.totalElementsEstimated").value(true));
+
+        verify(bookService).findBooksWithPagination(any(Pageable.class), eq(null), eq(null), eq(null), eq(TotalCountMode.ESTIMATED));
+    }
+
+    @Test
+    @DisplayName("Should return only requested fields when fields parameter is given")
+    void shouldReturnOnlyRequestedFieldsWhenFieldsParameterIsGiven() throws Exception {
+        // Given
+        PagedBooksResponseDto<BookFieldsResponseDto> sparseResponse = PagedBooksResponseDto.<BookFieldsResponseDto>builder()
+                .books(List.of(BookFieldsResponseDto.builder().id(testBookId).title("Test Book").build()))
+                .totalElements(1L)
+                .totalPages(1)
+                .totalElementsEstimated(false)
+                .currentPage(0)
+                .pageSize(10)
+                .hasNext(false)
+                .hasPrevious(false)
+                .build();
+
+        when(bookService.findBookFieldsWithPagination(any(Pageable.class), eq(null), eq(null), eq(null),
+                eq(Set.of(BookField.ID, BookField.TITLE)), eq(TotalCountMode.EXACT)))
+                .thenReturn(sparseResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books")
+                        .param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(testBookId.toString()))
+                .andExpect(jsonPath("$.books[0].title").value("Test Book"))
+                .andExpect(jsonPath("$.books[0].author").doesNotExist())
+                .andExpect(jsonPath("$.books[0].description").doesNotExist());
+
+        verify(bookService, never()).findBooksWithPagination(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unknown field in fields parameter")
+    void shouldReturn400ForUnknownFieldInFieldsParameter() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/books")
+                        .param("fields", "id,isbn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Unknown book field: isbn")));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should return facets for the current filter")
+    void shouldReturnFacetsForCurrentFilter() throws Exception {
+        // Given
+        BookFacetsResponseDto facets = BookFacetsResponseDto.builder()
+                .publicationYears(List.of(
+                        new BookFacetsResponseDto.YearCount(2022, 3),
+                        new BookFacetsResponseDto.YearCount(2023, 5)))
+                .topAuthors(List.of(new BookFacetsResponseDto.AuthorCount("Craig Walls", 4)))
+                .build();
+
+        when(bookFacetService.getFacets(eq("spring"), eq(null), eq(null), eq(5))).thenReturn(facets);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/facets")
+                        .param("title", "spring")
+                        .param("topAuthors", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.publicationYears.length()").value(2))
+                .andExpect(jsonPath("$.publicationYears[1].publicationYear").value(2023))
+                .andExpect(jsonPath("$.publicationYears[1].count").value(5))
+                .andExpect(jsonPath("$.topAuthors[0].author").value("Craig Walls"))
+                .andExpect(jsonPath("$.topAuthors[0].count").value(4));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should return autocomplete suggestions for author prefix")
+    void shouldReturnAutocompleteSuggestionsForAuthorPrefix() throws Exception {
+        // Given
+        AutocompleteResponseDto suggestions = AutocompleteResponseDto.builder()
+                .field("author")
+                .suggestions(List.of(new AutocompleteResponseDto.Suggestion("Craig Walls", 2)))
+                .build();
+
+        when(bookAutocompleteService.suggest(BookField.AUTHOR, "cra", 5)).thenReturn(suggestions);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/books/autocomplete")
+                        .param("prefix", "cra")
+                        .param("field", "author")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.field").value("author"))
+                .andExpect(jsonPath("$.suggestions[0].value").value("Craig Walls"))
+                .andExpect(jsonPath("$.suggestions[0].books").value(2));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should look up books by IDs")
+    void shouldLookUpBooksByIds() throws Exception {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        LookupBooksResponseDto lookupResponse = LookupBooksResponseDto.builder()
+                .books(List.of(testResponseDto))
+                .notFoundIds(List.of(missingId))
+                .build();
+
+        when(bookService.findAllByIds(List.of(testBookId, missingId))).thenReturn(lookupResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LookupBooksRequestDto(List.of(testBookId, missingId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id").value(testBookId.toString()))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should reject empty ID lookup")
+    void shouldRejectEmptyIdLookup() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should stream export as NDJSON without compression by default")
+    void shouldStreamExportAsNdjsonWithoutCompressionByDefault() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("{\"title\":\"Spring Boot Guide\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookExportService).exportNdjson(eq(null), eq(null), eq(2023), any(OutputStream.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/books/export")
+                        .param("publicationYear", "2023"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"title\":\"Spring Boot Guide\"}\n"));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Should not compress export when the client refuses gzip with q=0")
+    void shouldNotCompressExportWhenGzipRefused() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("{\"title\":\"Spring Boot Guide\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookExportService).exportNdjson(eq(null), eq(null), eq(null), any(OutputStream.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"title\":\"Spring Boot Guide\"}\n"));
+    }
+
+    @Test
+    @DisplayName("Should compress export when the client accepts gzip with a positive q-value")
+    void shouldCompressExportWhenGzipAccepted() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("{\"title\":\"Spring Boot Guide\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookExportService).exportNdjson(eq(null), eq(null), eq(null), any(OutputStream.class));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, GZIP;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Then
+        try (InputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("{\"title\":\"Spring Boot Guide\"}\n", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass CSV upload to import service")
+    void shouldPassCsvUploadToImportService() throws Exception {
+        // Given
+        ImportBooksResponseDto importResponse = ImportBooksResponseDto.builder()
+                .importedCount(1)
+                .rejectedCount(0)
+                .rejectedRows(List.of())
+                .build();
+
+        when(bookImportService.importBooks(eq(BookImportFormat.CSV), any(InputStream.class))).thenReturn(importResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/books/import")
+                        .contentType("text/csv")
+                        .content("title,author,publicationYear,description\nSpring Boot Guide,John Doe,2023,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(1))
+                .andExpect(jsonPath("$.rejectedCount").value(0));
+
+        verifyNoInteractions(bookService);
     }
 }
@@ -0,0 +1,69 @@
+package com.example.resourceapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadYourWritesFilter Unit Tests")
+class ReadYourWritesFilterUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(Duration.ofSeconds(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should pin a write and hand out a cookie covering the window")
+    void shouldPinWriteAndSetCookie() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        // When
+        filter.doFilter(request, response, recordPinning(pinned));
+
+        // Then
+        assertTrue(pinned.get());
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.plusSeconds(5).toEpochMilli()), cookie.getValue());
+        assertEquals(5, cookie.getMaxAge());
+        assertFalse(ReadYourWritesContext.isPinnedToPrimary());
+    }
+
+    @Test
+    @DisplayName("Should pin reads only while the cookie window is open")
+    void shouldPinReadsWithinWindow() throws Exception {
+        // Given
+        MockHttpServletRequest recent = new MockHttpServletRequest("GET", "/api/v1/books");
+        recent.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.plusSeconds(1).toEpochMilli())));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/v1/books");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(NOW.minusSeconds(1).toEpochMilli())));
+        AtomicBoolean recentPinned = new AtomicBoolean();
+        AtomicBoolean expiredPinned = new AtomicBoolean();
+
+        // When
+        filter.doFilter(recent, new MockHttpServletResponse(), recordPinning(recentPinned));
+        filter.doFilter(expired, new MockHttpServletResponse(), recordPinning(expiredPinned));
+
+        // Then
+        assertTrue(recentPinned.get());
+        assertFalse(expiredPinned.get());
+    }
+
+    private static FilterChain recordPinning(AtomicBoolean pinned) {
+        return (request, response) -> pinned.set(ReadYourWritesContext.isPinnedToPrimary());
+    }
+}
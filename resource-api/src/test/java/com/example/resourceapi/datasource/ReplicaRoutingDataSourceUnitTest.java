@@ -0,0 +1,179 @@
+package com.example.resourceapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceUnitTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    @Mock
+    private Connection replica2Connection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica1);
+        replicas.put("replica-1", replica2);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should send connections outside read-only transactions to the primary")
+    void shouldRouteWritesToPrimary() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("Should spread read-only transactions over the replicas in round robin")
+    void shouldRoundRobinReadsOverReplicas() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(replica1Connection, routingDataSource.getConnection());
+        assertSame(replica2Connection, routingDataSource.getConnection());
+        assertSame(replica1Connection, routingDataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should keep reads of a recently writing client on the primary")
+    void shouldRoutePinnedReadsToPrimary() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWritesContext.pinToPrimary();
+
+        // When & Then
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    @DisplayName("Should report the replay lag of the most lagging healthy replica")
+    void shouldReportMaxReplicaLag() throws SQLException {
+        // Given
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        stubReplayLag(replica1Connection, 120.0);
+        stubReplayLag(replica2Connection, 0.0);
+
+        // When
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertEquals(Duration.ofMillis(120), routingDataSource.maxReplicaLag());
+    }
+
+    @Test
+    @DisplayName("Should report an unknown lag when a healthy replica's lag cannot be measured")
+    void shouldReportUnknownLagWhenMeasurementFails() throws SQLException {
+        // Given
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        stubReplayLag(replica1Connection, 0.0);
+        when(replica2Connection.createStatement()).thenThrow(new SQLException("function does not exist"));
+
+        // When
+        routingDataSource.checkReplicas();
+
+        // Then
+        assertTrue(routingDataSource.isHealthy("replica-1"));
+        assertNull(routingDataSource.maxReplicaLag());
+    }
+
+    @Test
+    @DisplayName("Should skip a replica that fails its health check until it recovers")
+    void shouldSkipUnhealthyReplica() throws SQLException {
+        // Given
+        when(replica1Connection.isValid(anyInt())).thenReturn(false, true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertFalse(routingDataSource.isHealthy("replica-0"));
+        assertSame(replica2Connection, routingDataSource.getConnection());
+        assertSame(replica2Connection, routingDataSource.getConnection());
+
+        routingDataSource.checkReplicas();
+        assertTrue(routingDataSource.isHealthy("replica-0"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when a replica cannot hand out a connection")
+    void shouldFallBackToPrimaryOnReplicaFailure() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertFalse(routingDataSource.isHealthy("replica-0"));
+        assertFalse(routingDataSource.isHealthy("replica-1"));
+
+        // Both replicas are down, reads go straight to the primary
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+
+    private static void stubReplayLag(Connection connection, double lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+    }
+}
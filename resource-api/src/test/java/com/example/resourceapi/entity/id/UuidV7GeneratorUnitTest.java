@@ -0,0 +1,44 @@
+package com.example.resourceapi.entity.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorUnitTest {
+
+    @Test
+    @DisplayName("Should produce version 7 ids carrying the current Unix millisecond")
+    void shouldProduceVersion7WithTimestamp() {
+        // When
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        // Then
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis);
+    }
+
+    @Test
+    @DisplayName("Should produce strictly increasing ids, also within one millisecond")
+    void shouldProduceStrictlyIncreasingIds() {
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, "not increasing at " + i);
+        }
+    }
+}
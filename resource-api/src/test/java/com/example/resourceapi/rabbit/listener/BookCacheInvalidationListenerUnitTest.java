@@ -0,0 +1,201 @@
+package com.example.resourceapi.rabbit.listener;
+
+import com.example.resourceapi.cache.BookAutocompleteIndex;
+import com.example.resourceapi.cache.BookCountCache;
+import com.example.resourceapi.cache.BookEntityCache;
+import com.example.resourceapi.cache.BookIdBloomFilter;
+import com.example.resourceapi.cache.BookPageCache;
+import com.example.resourceapi.cache.PrefixIndex;
+import com.example.resourceapi.config.props.BookBloomProperties;
+import com.example.resourceapi.config.props.BookCountProperties;
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.config.props.BookEntityCacheProperties;
+import com.example.resourceapi.config.props.BookPageCacheProperties;
+import com.example.resourceapi.config.props.RabbitProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.event.BooksChangedEvent;
+import com.example.resourceapi.event.BooksImportedEvent;
+import com.example.resourceapi.rabbit.event.BookCacheInvalidationEvent;
+import com.example.resourceapi.rabbit.publisher.BookCacheInvalidationPublisher;
+import com.example.resourceapi.repository.BookJdbcRepository;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Wires two replicas to an in-memory fanout exchange: every broadcast is serialized as it would be on the wire and
+ * delivered to the listeners of both replicas, including the sender's own.
+ */
+@DisplayName("BookCacheInvalidationListener Unit Tests")
+class BookCacheInvalidationListenerUnitTest {
+
+    private static final String CACHE_EXCHANGE_NAME = "test.book.cache";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Node> nodes = new ArrayList<>();
+
+    private Node nodeA;
+    private Node nodeB;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = node();
+        nodeB = node();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should evict the other node's matching pages and counts when a book changes on one node")
+    void shouldEvictOtherNodesPagesOnChange() {
+        // Given
+        CreateBookResponseDto before = CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title("Spring in Action")
+                .author("Craig Walls")
+                .publicationYear(2022)
+                .description("Before")
+                .build();
+        CreateBookResponseDto after = CreateBookResponseDto.builder()
+                .id(before.id())
+                .title("Spring in Action, Sixth Edition")
+                .author("Craig Walls")
+                .publicationYear(2022)
+                .description("After")
+                .build();
+        nodeB.pageCache().getOrLoad(key("spring"), this::load);
+        nodeB.pageCache().getOrLoad(key("kotlin"), this::load);
+        nodeB.countCache().getOrCompute(BookFilter.of("spring", null, null), loads::incrementAndGet);
+
+        // When
+        nodeA.publisher().publishChange(new BooksChangedEvent(EventType.UPDATE, List.of(before), List.of(after)));
+        nodeB.pageCache().getOrLoad(key("spring"), this::load);
+        nodeB.pageCache().getOrLoad(key("kotlin"), this::load);
+        nodeB.countCache().getOrCompute(BookFilter.of("spring", null, null), loads::incrementAndGet);
+
+        // Then - the "spring" page and count are loaded again, the "kotlin" page is still cached
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should apply a change on one node to the other node's autocomplete index without reloading it")
+    void shouldApplyChangeToOtherNodesAutocompleteIndex() {
+        // Given
+        CreateBookResponseDto created = CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title("Spring in Action")
+                .author("Craig Walls")
+                .publicationYear(2022)
+                .build();
+
+        // When
+        nodeA.publisher().publishChange(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(created)));
+
+        // Then
+        assertEquals(List.of(new PrefixIndex.Term("Spring in Action", 1)), nodeB.autocompleteIndex().suggestTitles("spring", 10));
+        assertEquals(List.of(new PrefixIndex.Term("Craig Walls", 1)), nodeB.autocompleteIndex().suggestAuthors("craig", 10));
+    }
+
+    @Test
+    @DisplayName("Should drop every page of the other node after a bulk import on one node")
+    void shouldDropOtherNodesPagesOnImport() {
+        // Given
+        nodeB.pageCache().getOrLoad(key("spring"), this::load);
+        nodeB.pageCache().getOrLoad(key("kotlin"), this::load);
+
+        // When
+        nodeA.publisher().publishImport(new BooksImportedEvent(1000, UuidV7Generator.next(), UuidV7Generator.next()));
+
+        // Then
+        assertEquals(0, nodeB.pageCache().estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should ignore its own broadcasts, which were already applied in-process")
+    void shouldIgnoreOwnBroadcast() {
+        // Given
+        nodeA.pageCache().getOrLoad(key("spring"), this::load);
+
+        // When
+        nodeA.publisher().publishImport(new BooksImportedEvent(1000, UuidV7Generator.next(), UuidV7Generator.next()));
+
+        // Then
+        assertEquals(1, nodeA.pageCache().estimatedSize());
+    }
+
+    private Node node() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = objectMapper.writeValueAsBytes(invocation.getArgument(2));
+            for (Node node : nodes) {
+                node.listener().onInvalidation(objectMapper.readValue(body, BookCacheInvalidationEvent.class));
+            }
+            return null;
+        }).when(rabbitTemplate).convertAndSend(eq(CACHE_EXCHANGE_NAME), eq(""), any(Object.class));
+
+        BookCacheInvalidationPublisher publisher = new BookCacheInvalidationPublisher(rabbitTemplate,
+                new RabbitProperties(null, null, null, CACHE_EXCHANGE_NAME));
+        ReplicaLag replicaLag = new ReplicaLag(new BookDataSourceRoutingProperties(false, List.of(), null, null, null, null));
+        BookPageCache pageCache = new BookPageCache(new BookPageCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry(),
+                replicaLag);
+        BookCountCache countCache = new BookCountCache(new BookCountProperties(100, Duration.ofMinutes(1), 1000), replicaLag);
+        BookAutocompleteIndex autocompleteIndex = new BookAutocompleteIndex(mock(BookJdbcRepository.class),
+                mock(PlatformTransactionManager.class));
+        BookCacheInvalidationListener listener = new BookCacheInvalidationListener(
+                publisher,
+                new BookEntityCache(new BookEntityCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry(), replicaLag),
+                pageCache,
+                countCache,
+                new BookIdBloomFilter(new BookBloomProperties(false, 1000, 0.01, Duration.ofHours(1)), null),
+                autocompleteIndex);
+
+        Node node = new Node(publisher, pageCache, countCache, autocompleteIndex, listener);
+        nodes.add(node);
+        return node;
+    }
+
+    private PagedBooksResponseDto<CreateBookResponseDto> load() {
+        loads.incrementAndGet();
+        return PagedBooksResponseDto.<CreateBookResponseDto>builder()
+                .books(List.of())
+                .currentPage(0)
+                .pageSize(10)
+                .build();
+    }
+
+    private static BookPageCache.Key key(String title) {
+        return new BookPageCache.Key(BookFilter.of(title, null, null),
+                PageRequest.of(0, 10, Sort.by("title", "id")), TotalCountMode.EXACT);
+    }
+
+    private record Node(BookCacheInvalidationPublisher publisher,
+                        BookPageCache pageCache,
+                        BookCountCache countCache,
+                        BookAutocompleteIndex autocompleteIndex,
+                        BookCacheInvalidationListener listener) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@Transactional
+@DisplayName("BookRepository dynamic filter queries match the legacy catch-all JPQL")
+class BookRepositoryFilterIntegrationTest {
+
+    // The query findBooksWithFilters used before the predicates were built dynamically
+    private static final String LEGACY_QUERY = "SELECT b FROM Book b WHERE " +
+            "(:title IS NULL OR (:title = '' AND b.title = '') OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
+            "(:author IS NULL OR (:author = '' AND b.author = '') OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
+            "(:publicationYear IS NULL OR b.publicationYear = :publicationYear) " +
+            "ORDER BY b.title ASC, b.id ASC";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        bookRepository.saveAll(List.of(
+                book("Spring in Action", "Craig Walls", 2022),
+                book("SPRING Boot Up and Running", "Mark Heckler", 2021),
+                book("Spring Microservices", "John Carnell", 2022),
+                book("Effective Java", "Joshua Bloch", 2018),
+                book("Java Concurrency in Practice", "Brian Goetz", 2006),
+                book("Clean Code", "Robert Martin", 2008),
+                book("Springfield Stories", null, 2022),
+                book(null, "Craig Walls", null),
+                book("Untitled Draft", null, null)
+        ));
+        entityManager.flush();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+                Arguments.of(null, null, null),
+                Arguments.of("spring", null, null),
+                Arguments.of(null, "WALLS", null),
+                Arguments.of(null, null, 2022),
+                Arguments.of("Spring", "walls", null),
+                Arguments.of("spring", null, 2022),
+                Arguments.of(null, "craig", 2022),
+                Arguments.of("spring", "walls", 2022)
+        );
+    }
+
+    @ParameterizedTest(name = "title={0}, author={1}, publicationYear={2}")
+    @MethodSource("filterCombinations")
+    @DisplayName("Should return the same books and count as the legacy query")
+    void shouldMatchLegacyQuery(String title, String author, Integer publicationYear) {
+        List<UUID> expected = legacyQuery(title, author, publicationYear).stream()
+                .map(Book::getId)
+                .toList();
+
+        List<UUID> actual = bookRepository.findBookSliceWithFilters(title, author, publicationYear,
+                        PageRequest.of(0, 100, Sort.by("title", "id")))
+                .map(Book::getId)
+                .getContent();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), bookRepository.countBooksWithFilters(title, author, publicationYear));
+    }
+
+    private List<Book> legacyQuery(String title, String author, Integer publicationYear) {
+        TypedQuery<Book> query = entityManager.createQuery(LEGACY_QUERY, Book.class);
+        query.setParameter("title", title);
+        query.setParameter("author", author);
+        query.setParameter("publicationYear", publicationYear);
+        return query.getResultList();
+    }
+
+    private static Book book(String title, String author, Integer publicationYear) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setPublicationYear(publicationYear);
+        return book;
+    }
+}
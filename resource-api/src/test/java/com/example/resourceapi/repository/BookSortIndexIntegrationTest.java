@@ -0,0 +1,94 @@
+package com.example.resourceapi.repository;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("Sorted first pages are served by the sort indexes")
+class BookSortIndexIntegrationTest {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE book");
+        jdbcTemplate.update("INSERT INTO book (id, title, author, publication_year, description) " +
+                "SELECT gen_random_uuid(), 'Title ' || md5(g::text), 'Author ' || (g % 500), 1900 + g % 125, " +
+                "'Description ' || g FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE book");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @ParameterizedTest(name = "ORDER BY {0} {1}")
+    @CsvSource({
+            "title, ASC, idx_book_title_id",
+            "title, DESC, idx_book_title_id",
+            "author, ASC, idx_book_author_id",
+            "author, DESC, idx_book_author_id",
+            "publication_year, ASC, idx_book_publication_year_id",
+            "publication_year, DESC, idx_book_publication_year_id"
+    })
+    @DisplayName("Should use an index scan instead of sorting the table")
+    void shouldUseIndexScanForSortedFirstPage(String column, String direction, String index) {
+        // Same shape as the listing query: sort key plus id tie breaker in the same direction, one extra row
+        String sql = "SELECT id, title, author, publication_year, description FROM book " +
+                "ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT 11";
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index") && line.contains(index)), String.join("\n", plan));
+        assertFalse(plan.stream().anyMatch(line -> line.trim().startsWith("->  Sort") || line.startsWith("Sort")),
+                String.join("\n", plan));
+    }
+
+    @ParameterizedTest(name = "seek on {0} {1}")
+    @CsvSource({
+            "title, ASC, >, Title 8, idx_book_title_id",
+            "title, DESC, <, Title 8, idx_book_title_id",
+            "author, ASC, >, Author 250, idx_book_author_id",
+            "author, DESC, <, Author 250, idx_book_author_id",
+            "publication_year, ASC, >, 1960, idx_book_publication_year_id",
+            "publication_year, DESC, <, 1960, idx_book_publication_year_id"
+    })
+    @DisplayName("Should bound the scroll seek with an index condition on the sort key")
+    void shouldUseIndexConditionForScrollSeek(String column, String direction, String operator, String value, String index) {
+        // Same shape as the scroll seek inside the non-null section
+        String literal = "publication_year".equals(column) ? value : "'" + value + "'";
+        String sql = "SELECT id, title, author, publication_year, description FROM book " +
+                "WHERE " + column + " " + operator + "= " + literal + " AND (" + column + " " + operator + " " + literal +
+                " OR id " + operator + " '7fffffff-ffff-ffff-ffff-ffffffffffff') " +
+                "ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT 11";
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index") && line.contains(index)), String.join("\n", plan));
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index Cond") && line.contains(column)), String.join("\n", plan));
+        assertFalse(plan.stream().anyMatch(line -> line.trim().startsWith("->  Sort") || line.startsWith("Sort")),
+                String.join("\n", plan));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.exception.BookNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the service with the page, entity and count caches and the Bloom filter switched on, which the test
+ * profile otherwise disables, so that every read below goes through a warm cache populated before the write.
+ * Each test uses its own author so the caches shared by the Spring context never see another test's books.
+ */
+@SpringBootTest(properties = {
+        "book.count.cache-ttl=5m",
+        "book.page-cache.max-size=1000",
+        "book.page-cache.ttl=5m",
+        "book.entity-cache.max-size=1000",
+        "book.entity-cache.ttl=5m",
+        "book.bloom.enabled=true"
+})
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("BookService Integration Tests with caches enabled")
+class BookCachingIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Should list a newly created book and count it after the page was cached")
+    void shouldSeeCreatedBookOnCachedPage() {
+        // Given
+        String author = uniqueAuthor();
+        bookService.saveAll(List.of(book("First", author)));
+        assertEquals(1, findByAuthor(author).totalElements());
+
+        // When
+        CreateBookResponseDto created = bookService.saveAll(List.of(book("Second", author))).get(0);
+
+        // Then
+        PagedBooksResponseDto<CreateBookResponseDto> page = findByAuthor(author);
+        assertEquals(2, page.totalElements());
+        assertTrue(page.books().stream().anyMatch(b -> b.id().equals(created.id())));
+        assertEquals("Second", bookService.findById(created.id()).title());
+    }
+
+    @Test
+    @DisplayName("Should return the updated book after it was cached by id and by page")
+    void shouldSeeUpdatedBookAfterCachedReads() {
+        // Given
+        String author = uniqueAuthor();
+        UUID bookId = bookService.saveAll(List.of(book("Original", author))).get(0).id();
+        assertEquals("Original", bookService.findById(bookId).title());
+        assertEquals("Original", findByAuthor(author).books().get(0).title());
+
+        // When
+        bookService.updateBooks(List.of(UpdateBookRequestDto.builder()
+                .id(bookId)
+                .title(JsonNullable.of("Revised"))
+                .build()));
+
+        // Then
+        assertEquals("Revised", bookService.findById(bookId).title());
+        assertEquals("Revised", findByAuthor(author).books().get(0).title());
+    }
+
+    @Test
+    @DisplayName("Should stop returning a deleted book after it was cached by id, by page and in the count")
+    void shouldForgetDeletedBookAfterCachedReads() {
+        // Given
+        String author = uniqueAuthor();
+        List<CreateBookResponseDto> created = bookService.saveAll(List.of(book("Kept", author), book("Dropped", author)));
+        UUID droppedId = created.get(1).id();
+        assertEquals("Dropped", bookService.findById(droppedId).title());
+        assertEquals(2, findByAuthor(author).totalElements());
+
+        // When
+        bookService.deleteBook(droppedId);
+
+        // Then
+        assertThrows(BookNotFoundException.class, () -> bookService.findById(droppedId));
+        PagedBooksResponseDto<CreateBookResponseDto> page = findByAuthor(author);
+        assertEquals(1, page.totalElements());
+        assertEquals(List.of("Kept"), page.books().stream().map(CreateBookResponseDto::title).toList());
+        assertTrue(bookService.findAllByIds(List.of(droppedId)).notFoundIds().contains(droppedId));
+    }
+
+    private PagedBooksResponseDto<CreateBookResponseDto> findByAuthor(String author) {
+        return bookService.findBooksWithPagination(PageRequest.of(0, 10), null, author, null, TotalCountMode.EXACT);
+    }
+
+    private static CreateBookRequestDto book(String title, String author) {
+        return CreateBookRequestDto.builder()
+                .title(title)
+                .author(author)
+                .publicationYear(2024)
+                .description("Cached book")
+                .build();
+    }
+
+    private static String uniqueAuthor() {
+        return "Cache Author " + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.service.impl.BookFacetServiceImpl;
+import com.example.resourceapi.service.impl.BookServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("BookFacetService Integration Tests with TestContainers")
+class BookFacetServiceImplIntegrationTest {
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private BookFacetServiceImpl bookFacetService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Other tests write through the repository and bypass the aggregate, so all tables start empty
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta");
+    }
+
+    @Test
+    @DisplayName("Should keep facets in sync with create, update and delete")
+    void shouldKeepFacetsInSyncWithWrites() {
+        // Given
+        List<CreateBookResponseDto> created = bookService.saveAll(List.of(
+                request("Spring in Action", "Craig Walls", 2022),
+                request("Spring Boot Up and Running", "Mark Heckler", 2022),
+                request("Spring Microservices", "Craig Walls", 2021),
+                request("Effective Java", "Joshua Bloch", 2018)));
+
+        // When - move one book to another year and delete another
+        bookService.updateBooks(List.of(UpdateBookRequestDto.builder()
+                .id(created.get(2).id())
+                .publicationYear(JsonNullable.of(2022))
+                .build()));
+        bookService.deleteBook(created.get(3).id());
+
+        // Then
+        BookFacetsResponseDto facets = bookFacetService.getFacets(null, null, null, 10);
+        assertEquals(List.of(new BookFacetsResponseDto.YearCount(2022, 3)), facets.publicationYears());
+        assertEquals(List.of(
+                new BookFacetsResponseDto.AuthorCount("Craig Walls", 2),
+                new BookFacetsResponseDto.AuthorCount("Mark Heckler", 1)), facets.topAuthors());
+    }
+
+    @Test
+    @DisplayName("Should return the same facets from the aggregate and the book table")
+    void shouldMatchGroupByOverBookTable() {
+        // Given
+        bookService.saveAll(List.of(
+                request("Spring in Action", "Craig Walls", 2022),
+                request("Spring Microservices", "Craig Walls", 2021),
+                request("Java Concurrency", "Brian Goetz", 2006),
+                request("Untitled", null, null)));
+
+        // When - author and year filters are served by the aggregate, a title filter groups the book table
+        BookFacetsResponseDto byAuthor = bookFacetService.getFacets(null, "walls", null, 10);
+        BookFacetsResponseDto byTitle = bookFacetService.getFacets("spring", null, null, 10);
+        BookFacetsResponseDto all = bookFacetService.getFacets(null, null, null, 10);
+
+        // Then
+        assertEquals(byTitle, byAuthor);
+        assertEquals(List.of(
+                new BookFacetsResponseDto.YearCount(2006, 1),
+                new BookFacetsResponseDto.YearCount(2021, 1),
+                new BookFacetsResponseDto.YearCount(2022, 1),
+                new BookFacetsResponseDto.YearCount(null, 1)), all.publicationYears());
+        assertEquals(2, all.topAuthors().size());
+    }
+
+    @Test
+    @DisplayName("Should return the same facets before and after the logged deltas are folded into the aggregate")
+    void shouldKeepFacetsWhenFoldingDeltas() {
+        // Given
+        List<CreateBookResponseDto> created = bookService.saveAll(List.of(
+                request("Spring in Action", "Craig Walls", 2022),
+                request("Spring Microservices", "Craig Walls", 2021),
+                request("Effective Java", "Joshua Bloch", 2018)));
+        bookService.deleteBook(created.get(2).id());
+        BookFacetsResponseDto beforeFold = bookFacetService.getFacets(null, "walls", null, 10);
+
+        // When
+        bookFacetService.foldDeltas();
+
+        // Then
+        assertEquals(beforeFold, bookFacetService.getFacets(null, "walls", null, 10));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_facet_delta", Integer.class));
+        assertEquals(List.of(), bookFacetService.getFacets(null, "bloch", null, 10).topAuthors());
+    }
+
+    private static CreateBookRequestDto request(String title, String author, Integer publicationYear) {
+        return CreateBookRequestDto.builder()
+                .title(title)
+                .author(author)
+                .publicationYear(publicationYear)
+                .description("Description")
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.props.BookFacetProperties;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.repository.BookFacetJdbcRepository;
+import com.example.resourceapi.repository.facet.BookFacetKey;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.service.impl.BookFacetServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookFacetService Unit Tests")
+class BookFacetServiceImplUnitTest {
+
+    @Mock
+    private BookFacetJdbcRepository bookFacetJdbcRepository;
+
+    @Mock
+    private BookFacetProperties bookFacetProperties;
+
+    @InjectMocks
+    private BookFacetServiceImpl bookFacetService;
+
+    @Test
+    @DisplayName("Should log net deltas per year and author")
+    void shouldLogNetDeltas() {
+        // Given - one book moves from 2020 to 2021, one unchanged book, one new book without a year
+        List<CreateBookResponseDto> previous = List.of(
+                book("Craig Walls", 2020),
+                book("Joshua Bloch", 2018));
+        List<CreateBookResponseDto> current = List.of(
+                book("Craig Walls", 2021),
+                book("Joshua Bloch", 2018),
+                book(null, null));
+
+        // When
+        bookFacetService.applyChanges(previous, current);
+
+        // Then
+        verify(bookFacetJdbcRepository).appendDeltas(Map.of(
+                new BookFacetKey(null, null), 1L,
+                new BookFacetKey(2020, "Craig Walls"), -1L,
+                new BookFacetKey(2021, "Craig Walls"), 1L));
+    }
+
+    @Test
+    @DisplayName("Should fold logged deltas batch by batch until the log is drained")
+    void shouldFoldDeltasUntilDrained() {
+        // Given
+        when(bookFacetProperties.foldBatchSize()).thenReturn(100);
+        when(bookFacetJdbcRepository.foldDeltas(100)).thenReturn(100, 100, 42);
+
+        // When
+        bookFacetService.foldDeltas();
+
+        // Then
+        verify(bookFacetJdbcRepository, times(3)).foldDeltas(100);
+    }
+
+    @Test
+    @DisplayName("Should clamp top authors limit and normalize filter")
+    void shouldClampTopAuthorsLimitAndNormalizeFilter() {
+        // Given
+        BookFilter filter = BookFilter.of("Spring", null, 2023);
+        List<BookFacetsResponseDto.YearCount> years = List.of(new BookFacetsResponseDto.YearCount(2023, 2));
+        List<BookFacetsResponseDto.AuthorCount> authors = List.of(new BookFacetsResponseDto.AuthorCount("Craig Walls", 2));
+
+        when(bookFacetJdbcRepository.countByPublicationYear(filter)).thenReturn(years);
+        when(bookFacetJdbcRepository.findTopAuthors(eq(filter), eq(100))).thenReturn(authors);
+
+        // When
+        BookFacetsResponseDto result = bookFacetService.getFacets("Spring", null, 2023, 10_000);
+
+        // Then
+        assertEquals(years, result.publicationYears());
+        assertEquals(authors, result.topAuthors());
+    }
+
+    private static CreateBookResponseDto book(String author, Integer publicationYear) {
+        return CreateBookResponseDto.builder()
+                .id(UUID.randomUUID())
+                .title("Title")
+                .author(author)
+                .publicationYear(publicationYear)
+                .build();
+    }
+}
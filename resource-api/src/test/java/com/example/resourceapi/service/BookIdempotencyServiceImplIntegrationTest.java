@@ -0,0 +1,102 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.exception.IdempotencyKeyReuseException;
+import com.example.resourceapi.repository.BookRepository;
+import com.example.resourceapi.service.impl.BookIdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("BookIdempotencyService Integration Tests with TestContainers")
+class BookIdempotencyServiceImplIntegrationTest {
+
+    @Autowired
+    private BookIdempotencyServiceImpl bookIdempotencyService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<CreateBookRequestDto> books = List.of(CreateBookRequestDto.builder()
+            .title("Idempotent Book")
+            .author("Retry Author")
+            .publicationYear(2024)
+            .build());
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta, book_idempotency_key");
+    }
+
+    @Test
+    @DisplayName("Should create books once and replay the stored response for a retry")
+    void shouldReplayStoredResponseForRetry() {
+        // Given
+        String key = UUID.randomUUID().toString();
+
+        // When
+        BookIdempotencyService.Result first = bookIdempotencyService.saveAll(key, books);
+        BookIdempotencyService.Result retry = bookIdempotencyService.saveAll(key, books);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.books().get(0).id(), retry.books().get(0).id());
+        assertEquals(1, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject reusing a key for a different request")
+    void shouldRejectReusingKeyForDifferentRequest() {
+        // Given
+        String key = UUID.randomUUID().toString();
+        bookIdempotencyService.saveAll(key, books);
+        List<CreateBookRequestDto> otherBooks = List.of(CreateBookRequestDto.builder()
+                .title("Another Book")
+                .publicationYear(2024)
+                .build());
+
+        // When & Then
+        assertThrows(IdempotencyKeyReuseException.class, () -> bookIdempotencyService.saveAll(key, otherBooks));
+        assertEquals(1, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should purge expired keys in batches")
+    void shouldPurgeExpiredKeysInBatches() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO book_idempotency_key (idempotency_key, request_hash, response, created_at) " +
+                    "VALUES (?, repeat('0', 64), '[]', now() - INTERVAL '2 days')", "expired-" + i);
+        }
+        bookIdempotencyService.saveAll("live", books);
+
+        // When
+        bookIdempotencyService.purgeExpiredKeys();
+
+        // Then
+        assertEquals(List.of("live"), jdbcTemplate.queryForList("SELECT idempotency_key FROM book_idempotency_key", String.class));
+    }
+}
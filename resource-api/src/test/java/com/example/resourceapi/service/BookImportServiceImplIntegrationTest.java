@@ -0,0 +1,127 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.response.BookFacetsResponseDto;
+import com.example.resourceapi.dto.response.ImportBooksResponseDto;
+import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.enums.BookImportFormat;
+import com.example.resourceapi.exception.InvalidImportException;
+import com.example.resourceapi.repository.BookRepository;
+import com.example.resourceapi.service.impl.BookFacetServiceImpl;
+import com.example.resourceapi.service.impl.BookImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("BookImportService Integration Tests with TestContainers")
+class BookImportServiceImplIntegrationTest {
+
+    @Autowired
+    private BookImportServiceImpl bookImportService;
+
+    @Autowired
+    private BookFacetServiceImpl bookFacetService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta");
+    }
+
+    @Test
+    @DisplayName("Should copy valid CSV rows and report invalid ones")
+    void shouldCopyValidCsvRowsAndReportInvalidOnes() {
+        // Given - quotes, commas and empty optional fields must survive the COPY encoding
+        String csv = """
+                title,author,publicationYear,description
+                "Spring in Action, 6th Edition",Craig Walls,2022,"Covers ""Spring Boot"" 3"
+                ,Nobody,2020,Missing title
+                Effective Java,,2018,
+                Too Old,Someone,999,Year out of range
+                """;
+
+        // When
+        ImportBooksResponseDto result = bookImportService.importBooks(BookImportFormat.CSV, stream(csv));
+
+        // Then
+        assertEquals(2, result.importedCount());
+        assertEquals(2, result.rejectedCount());
+        assertEquals(List.of(2L, 4L), result.rejectedRows().stream().map(ImportBooksResponseDto.RejectedRow::row).toList());
+
+        List<Book> books = bookRepository.findAll().stream().sorted(Comparator.comparing(Book::getTitle)).toList();
+        assertEquals("Effective Java", books.get(0).getTitle());
+        assertNull(books.get(0).getAuthor());
+        assertNull(books.get(0).getDescription());
+        assertEquals("Spring in Action, 6th Edition", books.get(1).getTitle());
+        assertEquals("Covers \"Spring Boot\" 3", books.get(1).getDescription());
+
+        BookFacetsResponseDto facets = bookFacetService.getFacets(null, null, null, 10);
+        assertEquals(List.of(
+                new BookFacetsResponseDto.YearCount(2018, 1),
+                new BookFacetsResponseDto.YearCount(2022, 1)), facets.publicationYears());
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows")
+    void shouldImportNdjsonRows() {
+        // Given
+        String ndjson = """
+                {"title": "Clean Code", "author": "Robert Martin", "publicationYear": 2008}
+                {"title": "Refactoring", "author": "Martin Fowler", "publicationYear": 2018, "description": "Second edition"}
+                """;
+
+        // When
+        ImportBooksResponseDto result = bookImportService.importBooks(BookImportFormat.NDJSON, stream(ndjson));
+
+        // Then
+        assertEquals(2, result.importedCount());
+        assertEquals(0, result.rejectedCount());
+        assertEquals(2, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should roll back the whole import when a row cannot be parsed")
+    void shouldRollBackWholeImportWhenRowCannotBeParsed() {
+        // Given
+        String ndjson = """
+                {"title": "Clean Code", "author": "Robert Martin", "publicationYear": 2008}
+                {"title": "Broken", "publicationYear": "not a year"}
+                """;
+
+        // When & Then
+        InvalidImportException exception = assertThrows(InvalidImportException.class,
+                () -> bookImportService.importBooks(BookImportFormat.NDJSON, stream(ndjson)));
+        assertEquals(true, exception.getMessage().startsWith("Malformed import row 2"));
+        assertEquals(0, bookRepository.count());
+        assertEquals(List.of(), bookFacetService.getFacets(null, null, null, 10).publicationYears());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.resourceapi.service;
+
+import com.example.resourceapi.config.TestContainersConfig;
+import com.example.resourceapi.dto.request.CreateBookRequestDto;
+import com.example.resourceapi.dto.response.BookIngestionJobResponseDto;
+import com.example.resourceapi.enums.IngestionJobStatus;
+import com.example.resourceapi.exception.IngestionJobNotFoundException;
+import com.example.resourceapi.exception.InvalidIngestionJobException;
+import com.example.resourceapi.repository.BookRepository;
+import com.example.resourceapi.service.impl.BookIngestionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "book.ingestion.chunk-size=2")
+@ActiveProfiles("test")
+@Import(TestContainersConfig.class)
+@Testcontainers
+@DisplayName("BookIngestionService Integration Tests with TestContainers")
+class BookIngestionServiceImplIntegrationTest {
+
+    @Autowired
+    private BookIngestionServiceImpl bookIngestionService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE book, book_facet_count, book_facet_delta, book_ingestion_job");
+    }
+
+    @Test
+    @DisplayName("Should create valid rows in chunks and report invalid ones on the job")
+    void shouldCreateValidRowsInChunksAndReportInvalidOnes() {
+        // Given
+        List<CreateBookRequestDto> books = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            books.add(CreateBookRequestDto.builder().title("Book " + i).author("Author").publicationYear(2020).build());
+        }
+        books.set(2, CreateBookRequestDto.builder().title("").publicationYear(2020).build());
+
+        // When
+        BookIngestionJobResponseDto submitted = bookIngestionService.submit(books);
+
+        // Then
+        assertNotNull(submitted.id());
+        assertEquals(5, submitted.totalRows());
+
+        BookIngestionJobResponseDto finished = await().atMost(Duration.ofSeconds(30))
+                .until(() -> bookIngestionService.findJob(submitted.id()),
+                        job -> job.status() == IngestionJobStatus.COMPLETED);
+        assertEquals(5, finished.processedRows());
+        assertEquals(4, finished.createdRows());
+        assertEquals(1, finished.failedRows());
+        assertEquals(3L, finished.failedRowDetails().get(0).row());
+        assertNotNull(finished.finishedAt());
+        assertEquals(4, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should fail unfinished jobs that stopped making progress and leave active ones alone")
+    void shouldFailAbandonedJobs() {
+        // Given - one job whose node died mid-run, one still progressing
+        UUID abandonedId = UUID.randomUUID();
+        UUID activeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO book_ingestion_job (id, status, total_rows, updated_at) " +
+                "VALUES (?, 'RUNNING', 10, now() - interval '1 day')", abandonedId);
+        jdbcTemplate.update("INSERT INTO book_ingestion_job (id, status, total_rows) VALUES (?, 'RUNNING', 10)", activeId);
+
+        // When
+        bookIngestionService.failAbandonedJobs();
+
+        // Then
+        BookIngestionJobResponseDto abandoned = bookIngestionService.findJob(abandonedId);
+        assertEquals(IngestionJobStatus.FAILED, abandoned.status());
+        assertNotNull(abandoned.error());
+        assertNotNull(abandoned.finishedAt());
+        assertEquals(IngestionJobStatus.RUNNING, bookIngestionService.findJob(activeId).status());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void shouldRejectEmptyBatch() {
+        // When & Then
+        assertThrows(InvalidIngestionJobException.class, () -> bookIngestionService.submit(List.of()));
+    }
+
+    @Test
+    @DisplayName("Should throw IngestionJobNotFoundException for unknown job")
+    void shouldThrowForUnknownJob() {
+        // When & Then
+        assertThrows(IngestionJobNotFoundException.class, () -> bookIngestionService.findJob(UUID.randomUUID()));
+    }
+}
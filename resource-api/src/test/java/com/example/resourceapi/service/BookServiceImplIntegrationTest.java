@@ -3,9 +3,15 @@ package com.example.resourceapi.service;
 import com.example.resourceapi.config.TestContainersConfig;
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
+import com.example.resourceapi.dto.response.BookFieldsResponseDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.entity.id.UuidV7Generator;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.enums.TotalCountMode;
 import com.example.resourceapi.exception.BookNotFoundException;
 import com.example.resourceapi.repository.BookRepository;
 import com.example.resourceapi.service.impl.BookServiceImpl;
@@ -17,9 +23,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -97,7 +107,7 @@ class BookServiceImplIntegrationTest {
         createTestBooksInDatabase(15);
 
         // When
-        PagedBooksResponseDto pagedResponse = bookService.findBooksWithPagination(PageRequest.of(0, 5), null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> pagedResponse = bookService.findBooksWithPagination(PageRequest.of(0, 5), null, null, null, TotalCountMode.EXACT);
 
         // Then
         assertNotNull(pagedResponse);
@@ -110,13 +120,13 @@ class BookServiceImplIntegrationTest {
         assertTrue(pagedResponse.hasNext());
 
         // Test second page
-        PagedBooksResponseDto secondPage = bookService.findBooksWithPagination(PageRequest.of(1, 5), null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> secondPage = bookService.findBooksWithPagination(PageRequest.of(1, 5), null, null, null, TotalCountMode.EXACT);
         assertEquals(5, secondPage.books().size());
         assertTrue(secondPage.hasPrevious());
         assertTrue(secondPage.hasNext());
 
         // Test last page
-        PagedBooksResponseDto lastPage = bookService.findBooksWithPagination(PageRequest.of(2, 5), null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> lastPage = bookService.findBooksWithPagination(PageRequest.of(2, 5), null, null, null, TotalCountMode.EXACT);
         assertEquals(5, lastPage.books().size());
         assertTrue(lastPage.hasPrevious());
         assertFalse(lastPage.hasNext());
@@ -221,6 +231,63 @@ class BookServiceImplIntegrationTest {
         assertEquals("Test Description", updatedBookInDb.getDescription());
     }
 
+    @Test
+    @DisplayName("Should bump the version on update and reject patches based on an older version")
+    void shouldRejectPatchesBasedOnOlderVersion() {
+        // Given
+        Book savedBook = createSingleTestBook();
+        UUID bookId = savedBook.getId();
+        long initialVersion = bookService.findById(bookId).version();
+
+        bookService.updateBooks(List.of(UpdateBookRequestDto.builder()
+                .id(bookId)
+                .title(JsonNullable.of("First Writer"))
+                .version(initialVersion)
+                .build()));
+
+        // When
+        var updateResponse = bookService.updateBooks(List.of(UpdateBookRequestDto.builder()
+                .id(bookId)
+                .title(JsonNullable.of("Second Writer"))
+                .version(initialVersion)
+                .build()));
+
+        // Then
+        assertTrue(updateResponse.updatedBooks().isEmpty());
+        assertEquals(List.of(bookId), updateResponse.conflictedIds());
+
+        Book bookInDb = bookRepository.findById(bookId).orElseThrow();
+        assertEquals("First Writer", bookInDb.getTitle());
+        assertEquals(initialVersion + 1, bookInDb.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should insert new books and replace existing ones in one upsert")
+    void shouldInsertNewBooksAndReplaceExistingOnesInOneUpsert() {
+        // Given
+        Book savedBook = createSingleTestBook();
+        UUID existingId = savedBook.getId();
+        UUID newId = UuidV7Generator.next();
+
+        // When
+        var upsertResponse = bookService.upsertBooks(List.of(
+                UpsertBookRequestDto.builder().id(existingId).title("Replaced Title").publicationYear(2024).build(),
+                UpsertBookRequestDto.builder().id(newId).title("Synced Book").author("Sync Author").publicationYear(2021).build()));
+
+        // Then
+        assertEquals(List.of(newId), upsertResponse.insertedIds());
+        assertEquals(List.of(existingId), upsertResponse.updatedIds());
+
+        Book replacedInDb = bookRepository.findById(existingId).orElseThrow();
+        assertEquals("Replaced Title", replacedInDb.getTitle());
+        assertNull(replacedInDb.getAuthor());
+        assertEquals(1L, replacedInDb.getVersion());
+
+        Book insertedInDb = bookRepository.findById(newId).orElseThrow();
+        assertEquals("Synced Book", insertedInDb.getTitle());
+        assertEquals(0L, insertedInDb.getVersion());
+    }
+
     @Test
     @DisplayName("Should delete book and remove from PostgreSQL")
     void shouldDeleteBookAndRemoveFromPostgreSQL() {
@@ -240,6 +307,26 @@ class BookServiceImplIntegrationTest {
         assertEquals(0, bookRepository.count());
     }
 
+    @Test
+    @DisplayName("Should delete only the books matching a filter")
+    void shouldDeleteOnlyBooksMatchingFilter() {
+        // Given
+        Book savedBook = createSingleTestBook();
+        Book otherBook = new Book();
+        otherBook.setTitle("Unrelated");
+        otherBook.setAuthor("Someone Else");
+        otherBook.setPublicationYear(1999);
+        otherBook = bookRepository.save(otherBook);
+
+        // When
+        var deleteResponse = bookService.deleteBooksMatching(null, "TEST AUTHOR", null);
+
+        // Then
+        assertEquals(1, deleteResponse.deletedCount());
+        assertFalse(bookRepository.existsById(savedBook.getId()));
+        assertTrue(bookRepository.existsById(otherBook.getId()));
+    }
+
     @Test
     @DisplayName("Should throw BookNotFoundException when deleting non-existent book")
     void shouldThrowBookNotFoundExceptionWhenDeletingNonExistentBook() {
@@ -296,6 +383,96 @@ class BookServiceImplIntegrationTest {
         }
     }
 
+    @Test
+    @DisplayName("Should scroll through all books without gaps or duplicates")
+    void shouldScrollThroughAllBooksWithoutGapsOrDuplicates() {
+        // Given - several books share a publication year, so the id tie breaker is exercised
+        createTestBooksInDatabase(15);
+        Book bookWithoutYear = new Book();
+        bookWithoutYear.setTitle("Undated Book");
+        bookRepository.save(bookWithoutYear);
+
+        // When
+        List<CreateBookResponseDto> scrolled = new ArrayList<>();
+        String token = null;
+        do {
+            ScrollBooksResponseDto slice = bookService.scrollBooks(token, 4, "publicationYear", Sort.Direction.DESC, null, null, null);
+            scrolled.addAll(slice.books());
+            token = slice.nextToken();
+        } while (token != null);
+
+        // Then
+        assertEquals(16, scrolled.size());
+        assertEquals(16, new HashSet<>(scrolled.stream().map(CreateBookResponseDto::id).toList()).size());
+        assertNull(scrolled.get(0).publicationYear()); // NULLS FIRST for descending order
+        for (int i = 2; i < scrolled.size(); i++) {
+            assertTrue(scrolled.get(i - 1).publicationYear() >= scrolled.get(i).publicationYear());
+        }
+    }
+
+    @Test
+    @DisplayName("Should scroll past the last title into books without one")
+    void shouldScrollAscendingIntoBooksWithoutSortKey() {
+        // Given
+        createTestBooksInDatabase(5);
+        Book untitledBook = new Book();
+        untitledBook.setAuthor("Anonymous");
+        bookRepository.save(untitledBook);
+
+        // When
+        List<CreateBookResponseDto> scrolled = new ArrayList<>();
+        String token = null;
+        do {
+            ScrollBooksResponseDto slice = bookService.scrollBooks(token, 2, "title", Sort.Direction.ASC, null, null, null);
+            scrolled.addAll(slice.books());
+            token = slice.nextToken();
+        } while (token != null);
+
+        // Then
+        assertEquals(6, scrolled.size());
+        assertEquals(6, new HashSet<>(scrolled.stream().map(CreateBookResponseDto::id).toList()).size());
+        assertNull(scrolled.get(5).title()); // NULLS LAST for ascending order
+    }
+
+    @Test
+    @DisplayName("Should apply filters while scrolling")
+    void shouldApplyFiltersWhileScrolling() {
+        // Given
+        createTestBooksInDatabase(15);
+
+        // When
+        ScrollBooksResponseDto slice = bookService.scrollBooks(null, 10, "title", Sort.Direction.ASC, "book 1", null, null);
+
+        // Then - "Test Book 1" and "Test Book 10".."Test Book 15"
+        assertEquals(7, slice.books().size());
+        assertFalse(slice.hasNext());
+        assertTrue(slice.books().stream().allMatch(book -> book.title().startsWith("Test Book 1")));
+    }
+
+    @Test
+    @DisplayName("Should return only requested fields")
+    void shouldReturnOnlyRequestedFields() {
+        // Given
+        createTestBooksInDatabase(12);
+
+        // When
+        PagedBooksResponseDto<BookFieldsResponseDto> page = bookService.findBookFieldsWithPagination(
+                PageRequest.of(0, 5, Sort.by("title")), null, null, 2022,
+                new LinkedHashSet<>(List.of(BookField.TITLE, BookField.ID)), TotalCountMode.EXACT);
+
+        // Then - years cycle 2021..2024, 2020, so books 2, 7 and 12 match
+        assertEquals(3, page.books().size());
+        assertEquals(3L, page.totalElements());
+        assertFalse(page.hasNext());
+        for (BookFieldsResponseDto book : page.books()) {
+            assertNotNull(book.id());
+            assertNull(book.author());
+            assertNull(book.publicationYear());
+            assertNull(book.description());
+        }
+        assertEquals("Test Book 12", page.books().get(0).title());
+    }
+
     private void createTestBooksInDatabase(int count) {
         for (int i = 1; i <= count; i++) {
             Book book = new Book();
@@ -1,36 +1,77 @@
 package com.example.resourceapi.service;
 
+import com.example.resourceapi.cache.BookCountCache;
+import com.example.resourceapi.cache.BookEntityCache;
+import com.example.resourceapi.cache.BookIdBloomFilter;
+import com.example.resourceapi.cache.BookPageCache;
+import com.example.resourceapi.config.props.BookBloomProperties;
+import com.example.resourceapi.config.props.BookCountProperties;
+import com.example.resourceapi.config.props.BookDataSourceRoutingProperties;
+import com.example.resourceapi.config.props.BookEntityCacheProperties;
+import com.example.resourceapi.config.props.BookPageCacheProperties;
+import com.example.resourceapi.datasource.ReplicaLag;
 import com.example.resourceapi.dto.request.CreateBookRequestDto;
 import com.example.resourceapi.dto.request.UpdateBookRequestDto;
+import com.example.resourceapi.dto.request.UpsertBookRequestDto;
 import com.example.resourceapi.dto.response.CreateBookResponseDto;
+import com.example.resourceapi.dto.response.DeleteBooksResponseDto;
+import com.example.resourceapi.dto.response.LookupBooksResponseDto;
 import com.example.resourceapi.dto.response.PagedBooksResponseDto;
+import com.example.resourceapi.dto.response.ScrollBooksResponseDto;
 import com.example.resourceapi.dto.response.UpdateBooksResponseDto;
+import com.example.resourceapi.dto.response.UpsertBooksResponseDto;
 import com.example.resourceapi.entity.Book;
+import com.example.resourceapi.enums.BookField;
+import com.example.resourceapi.enums.EventType;
+import com.example.resourceapi.enums.TotalCountMode;
+import com.example.resourceapi.event.BooksChangedEvent;
 import com.example.resourceapi.exception.BookNotFoundException;
+import com.example.resourceapi.exception.InvalidBulkDeleteException;
+import com.example.resourceapi.exception.InvalidScrollTokenException;
+import com.example.resourceapi.exception.InvalidUpsertException;
 import com.example.resourceapi.mapper.BookMapper;
+import com.example.resourceapi.rabbit.event.BookLogEvent;
+import com.example.resourceapi.rabbit.publisher.BookCacheInvalidationPublisher;
 import com.example.resourceapi.rabbit.publisher.BookLogEventPublisher;
+import com.example.resourceapi.repository.BookJdbcRepository;
 import com.example.resourceapi.repository.BookRepository;
+import com.example.resourceapi.repository.filter.BookFilter;
+import com.example.resourceapi.repository.upsert.UpsertedBook;
+import com.example.resourceapi.repository.util.BookScrollCursor;
+import com.example.resourceapi.repository.util.PageableUtil;
 import com.example.resourceapi.service.impl.BookServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openapitools.jackson.nullable.JsonNullable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +81,9 @@ import static org.mockito.Mockito.*;
 @DisplayName("BookService Unit Tests")
 class BookServiceImplUnitTest {
 
+    private static final ReplicaLag NO_REPLICAS =
+            new ReplicaLag(new BookDataSourceRoutingProperties(false, List.of(), null, null, null, null));
+
     @Mock
     private BookRepository bookRepository;
 
@@ -49,6 +93,40 @@ class BookServiceImplUnitTest {
     @Mock
     private BookLogEventPublisher bookLogEventPublisher;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private BookCacheInvalidationPublisher bookCacheInvalidationPublisher;
+
+    @Mock
+    private BookJdbcRepository bookJdbcRepository;
+
+    @Mock
+    private BookCountProperties bookCountProperties;
+
+    @Mock
+    private BookFacetService bookFacetService;
+
+    @Spy
+    private BookCountCache bookCountCache = new BookCountCache(new BookCountProperties(100, Duration.ofMinutes(1), 1000),
+            NO_REPLICAS);
+
+    // Disabled so each call reaches the repository; caching of pages is covered by BookPageCacheUnitTest
+    @Spy
+    private BookPageCache bookPageCache = new BookPageCache(new BookPageCacheProperties(0, Duration.ZERO), new SimpleMeterRegistry(),
+            NO_REPLICAS);
+
+    // Disabled, so every id might exist and lookups reach the repository unless a test stubs a definite miss
+    @Spy
+    private BookIdBloomFilter bookIdBloomFilter = new BookIdBloomFilter(
+            new BookBloomProperties(false, 1000, 0.01, Duration.ofHours(1)), null);
+
+    // Disabled for the same reason; caching of single books is covered by BookEntityCacheUnitTest
+    @Spy
+    private BookEntityCache bookEntityCache = new BookEntityCache(new BookEntityCacheProperties(0, Duration.ZERO), new SimpleMeterRegistry(),
+            NO_REPLICAS);
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -127,6 +205,8 @@ class BookServiceImplUnitTest {
             verify(bookMapper).toBookList(requestDtos);
             verify(bookRepository).saveAll(mappedBooks);
             verify(bookMapper).toCreateBookResponseDtoList(savedBooks);
+            verify(bookFacetService).applyChanges(List.of(), responseDtos);
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.CREATE, List.of(testBookId)));
         }
     }
 
@@ -140,14 +220,14 @@ class BookServiceImplUnitTest {
         Integer year = 2023;
 
         List<Book> books = List.of(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, 1);
         List<CreateBookResponseDto> responseDtos = List.of(testResponseDto);
 
-        when(bookRepository.findBooksWithFilters(eq(title), eq(author), eq(year), any(Pageable.class))).thenReturn(bookPage);
+        when(bookRepository.findBookSliceWithFilters(eq(title), eq(author), eq(year), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, false));
         when(bookMapper.toCreateBookResponseDtoList(books)).thenReturn(responseDtos);
 
         // When
-        PagedBooksResponseDto result = bookService.findBooksWithPagination(pageable, title, author, year);
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, title, author, year, TotalCountMode.EXACT);
 
         // Then
         assertNotNull(result);
@@ -159,7 +239,8 @@ class BookServiceImplUnitTest {
         assertFalse(result.hasNext());
         assertFalse(result.hasPrevious());
 
-        verify(bookRepository).findBooksWithFilters(eq(title), eq(author), eq(year), any(Pageable.class));
+        verify(bookRepository).findBookSliceWithFilters(eq(title), eq(author), eq(year), any(Pageable.class));
+        verify(bookRepository, never()).countBooksWithFilters(any(), any(), any()); // last page already gives the total
         verify(bookMapper).toCreateBookResponseDtoList(books);
     }
 
@@ -169,19 +250,19 @@ class BookServiceImplUnitTest {
         // Given
         Pageable pageable = PageRequest.of(0, 5);
         List<Book> books = List.of(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, 1);
         List<CreateBookResponseDto> responseDtos = List.of(testResponseDto);
 
-        when(bookRepository.findBooksWithFilters(isNull(), isNull(), isNull(), any(Pageable.class))).thenReturn(bookPage);
+        when(bookRepository.findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, false));
         when(bookMapper.toCreateBookResponseDtoList(books)).thenReturn(responseDtos);
 
         // When
-        PagedBooksResponseDto result = bookService.findBooksWithPagination(pageable, null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, null, null, TotalCountMode.EXACT);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.books().size());
-        verify(bookRepository).findBooksWithFilters(isNull(), isNull(), isNull(), any(Pageable.class));
+        verify(bookRepository).findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class));
     }
 
     @Test
@@ -219,20 +300,74 @@ class BookServiceImplUnitTest {
         verifyNoInteractions(bookMapper);
     }
 
+    @Test
+    @DisplayName("Should resolve the modification time with a version lookup instead of the full row")
+    void shouldFindUpdatedAtWithoutFetchingBook() {
+        // Given
+        Instant updatedAt = Instant.parse("2025-09-22T10:15:30.123456Z");
+        when(bookJdbcRepository.findUpdatedAt(testBookId)).thenReturn(Optional.of(updatedAt));
+
+        // When
+        Optional<Instant> result = bookService.findUpdatedAt(testBookId);
+
+        // Then
+        assertEquals(Optional.of(updatedAt), result);
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    @DisplayName("Should answer a definite bloom filter miss without querying the repository")
+    void shouldSkipRepositoryWhenBloomFilterRulesOutId() {
+        // Given
+        UUID nonExistentId = UUID.randomUUID();
+        doReturn(false).when(bookIdBloomFilter).mightContain(nonExistentId);
+
+        // When & Then
+        BookNotFoundException exception = assertThrows(BookNotFoundException.class, () -> bookService.findById(nonExistentId));
+
+        assertEquals("Book not found with id: " + nonExistentId, exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    @DisplayName("Should reject a random v4 id with a built bloom filter without querying the repository")
+    void shouldRejectRandomIdWithBuiltBloomFilter() {
+        // Given - a scraper probing ids that were never minted here
+        BookIdBloomFilter builtFilter = new BookIdBloomFilter(
+                new BookBloomProperties(true, 1000, 0.01, Duration.ofHours(1)), bookJdbcRepository);
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(0);
+            consumer.accept(testBookId);
+            return null;
+        }).when(bookJdbcRepository).forEachId(any());
+        builtFilter.rebuild();
+        doAnswer(invocation -> builtFilter.mightContain(invocation.getArgument(0))).when(bookIdBloomFilter).mightContain(any());
+        UUID randomId = UUID.randomUUID();
+
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> bookService.findById(randomId));
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
     @Test
     @DisplayName("Should update books successfully")
     void shouldUpdateBooksSuccessfully() {
         // Given
         List<UpdateBookRequestDto> updateRequests = List.of(testUpdateDto);
-        List<Book> existingBooks = List.of(testBook);
-        Book updatedBook = new Book();
-        updatedBook.setId(testBookId);
-        updatedBook.setTitle("Updated Title");
+        CreateBookResponseDto updatedDto = CreateBookResponseDto.builder()
+                .id(testBookId)
+                .title("Updated Title")
+                .author("Updated Author")
+                .publicationYear(2025)
+                .description("Updated Description")
+                .build();
 
-        when(bookRepository.findAllById(any())).thenReturn(existingBooks);
-        when(bookMapper.updateBookFromDto(testUpdateDto, testBook)).thenReturn(updatedBook);
-        when(bookRepository.save(updatedBook)).thenReturn(updatedBook);
-        when(bookMapper.toCreateBookResponseDtoList(List.of(updatedBook))).thenReturn(List.of(testResponseDto));
+        when(bookJdbcRepository.lockAvailableById(Set.of(testBookId))).thenReturn(List.of(testResponseDto));
+        when(bookJdbcRepository.patchAll(
+                EnumSet.of(BookField.TITLE, BookField.AUTHOR, BookField.PUBLICATION_YEAR, BookField.DESCRIPTION),
+                List.of(testUpdateDto)))
+                .thenReturn(List.of(updatedDto));
 
         // Mock transaction synchronization manager
         try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
@@ -248,13 +383,56 @@ class BookServiceImplUnitTest {
 
             // Then
             assertNotNull(result);
-            assertEquals(1, result.updatedBooks().size());
+            assertEquals(List.of(updatedDto), result.updatedBooks());
             assertEquals("Books are successfully updated", result.message());
             assertTrue(result.notUpdatedIds().isEmpty());
 
-            verify(bookRepository).findAllById(any());
-            verify(bookMapper).updateBookFromDto(testUpdateDto, testBook);
-            verify(bookRepository).save(updatedBook);
+            verify(bookFacetService).applyChanges(List.of(testResponseDto), List.of(updatedDto));
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.UPDATE, List.of(testBookId)));
+            verifyNoInteractions(bookRepository, bookMapper);
+        }
+    }
+
+    @Test
+    @DisplayName("Should issue one bulk update per set of patched fields")
+    void shouldGroupPatchesByPatchedFields() {
+        // Given
+        UUID secondId = UUID.randomUUID();
+        UUID thirdId = UUID.randomUUID();
+        UUID untouchedId = UUID.randomUUID();
+        UpdateBookRequestDto titlePatch = UpdateBookRequestDto.builder().id(testBookId).title(JsonNullable.of("A")).build();
+        UpdateBookRequestDto secondTitlePatch = UpdateBookRequestDto.builder().id(secondId).title(JsonNullable.of("B")).build();
+        UpdateBookRequestDto descriptionPatch = UpdateBookRequestDto.builder().id(thirdId).description(JsonNullable.of(null)).build();
+        UpdateBookRequestDto emptyPatch = UpdateBookRequestDto.builder().id(untouchedId).title(JsonNullable.undefined()).build();
+
+        CreateBookResponseDto second = CreateBookResponseDto.builder().id(secondId).title("b").build();
+        CreateBookResponseDto third = CreateBookResponseDto.builder().id(thirdId).description("c").build();
+        CreateBookResponseDto untouched = CreateBookResponseDto.builder().id(untouchedId).title("d").build();
+        CreateBookResponseDto patchedFirst = CreateBookResponseDto.builder().id(testBookId).title("A").build();
+        CreateBookResponseDto patchedSecond = CreateBookResponseDto.builder().id(secondId).title("B").build();
+        CreateBookResponseDto patchedThird = CreateBookResponseDto.builder().id(thirdId).build();
+
+        when(bookJdbcRepository.lockAvailableById(any())).thenReturn(List.of(testResponseDto, second, third, untouched));
+        when(bookJdbcRepository.patchAll(EnumSet.of(BookField.TITLE), List.of(titlePatch, secondTitlePatch)))
+                .thenReturn(List.of(patchedSecond, patchedFirst));
+        when(bookJdbcRepository.patchAll(EnumSet.of(BookField.DESCRIPTION), List.of(descriptionPatch)))
+                .thenReturn(List.of(patchedThird));
+
+        try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
+            mockedTxManager.when(() -> TransactionSynchronizationManager.registerSynchronization(any(TransactionSynchronization.class)))
+                    .then(invocation -> {
+                        TransactionSynchronization sync = invocation.getArgument(0);
+                        sync.afterCommit();
+                        return null;
+                    });
+
+            // When
+            UpdateBooksResponseDto result = bookService.updateBooks(
+                    List.of(titlePatch, secondTitlePatch, descriptionPatch, emptyPatch));
+
+            // Then
+            assertEquals(List.of(patchedFirst, patchedSecond, patchedThird, untouched), result.updatedBooks());
+            verify(bookJdbcRepository, times(2)).patchAll(any(), any());
         }
     }
 
@@ -277,14 +455,11 @@ class BookServiceImplUnitTest {
 
         List<UpdateBookRequestDto> updateRequests = List.of(existentUpdate, nonExistentUpdate);
 
-        Book existingBook = new Book();
-        existingBook.setId(existentId);
-        List<Book> foundBooks = List.of(existingBook);
+        CreateBookResponseDto existingBook = CreateBookResponseDto.builder().id(existentId).title("Title").build();
+        CreateBookResponseDto updatedBook = CreateBookResponseDto.builder().id(existentId).title("Updated Title").build();
 
-        when(bookRepository.findAllById(any())).thenReturn(foundBooks);
-        when(bookMapper.updateBookFromDto(existentUpdate, existingBook)).thenReturn(existingBook);
-        when(bookRepository.save(existingBook)).thenReturn(existingBook);
-        when(bookMapper.toCreateBookResponseDtoList(any())).thenReturn(List.of(testResponseDto));
+        when(bookJdbcRepository.lockAvailableById(any())).thenReturn(List.of(existingBook));
+        when(bookJdbcRepository.patchAll(EnumSet.of(BookField.TITLE), List.of(existentUpdate))).thenReturn(List.of(updatedBook));
 
         // Mock transaction synchronization manager
         try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
@@ -300,22 +475,100 @@ class BookServiceImplUnitTest {
 
             // Then
             assertNotNull(result);
-            assertEquals(1, result.updatedBooks().size());
+            assertEquals(List.of(updatedBook), result.updatedBooks());
             assertEquals(1, result.notUpdatedIds().size());
             assertTrue(result.notUpdatedIds().contains(nonExistentId));
             assertTrue(result.message().contains("not updated"));
 
-            verify(bookRepository).findAllById(any());
-            verify(bookMapper).updateBookFromDto(existentUpdate, existingBook);
-            verify(bookRepository).save(existingBook);
+            verify(bookJdbcRepository).lockAvailableById(any());
+            verify(bookJdbcRepository).patchAll(EnumSet.of(BookField.TITLE), List.of(existentUpdate));
         }
     }
 
+    @Test
+    @DisplayName("Should upsert books and publish CREATE and UPDATE events separately")
+    void shouldUpsertBooksAndPublishCreateAndUpdateEvents() {
+        // Given
+        UUID newId = UUID.randomUUID();
+        UpsertBookRequestDto existing = UpsertBookRequestDto.builder().id(testBookId).title("Replaced Title").publicationYear(2024).build();
+        UpsertBookRequestDto fresh = UpsertBookRequestDto.builder().id(newId).title("New Title").publicationYear(2024).build();
+        CreateBookResponseDto replaced = CreateBookResponseDto.builder().id(testBookId).title("Replaced Title").publicationYear(2024).build();
+        CreateBookResponseDto inserted = CreateBookResponseDto.builder().id(newId).title("New Title").publicationYear(2024).build();
+
+        when(bookJdbcRepository.lockAllById(Set.of(testBookId, newId))).thenReturn(List.of(testResponseDto));
+        when(bookJdbcRepository.upsertAll(List.of(existing, fresh), Set.of(testBookId)))
+                .thenReturn(List.of(new UpsertedBook(replaced, false), new UpsertedBook(inserted, true)));
+
+        try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
+            mockedTxManager.when(() -> TransactionSynchronizationManager.registerSynchronization(any(TransactionSynchronization.class)))
+                    .then(invocation -> {
+                        TransactionSynchronization sync = invocation.getArgument(0);
+                        sync.afterCommit();
+                        return null;
+                    });
+
+            // When
+            UpsertBooksResponseDto result = bookService.upsertBooks(List.of(existing, fresh));
+
+            // Then
+            assertEquals(List.of(newId), result.insertedIds());
+            assertEquals(List.of(testBookId), result.updatedIds());
+
+            verify(bookFacetService).applyChanges(List.of(testResponseDto), List.of(inserted, replaced));
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.CREATE, List.of(newId)));
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.UPDATE, List.of(testBookId)));
+            verify(applicationEventPublisher).publishEvent(new BooksChangedEvent(EventType.UPDATE, List.of(testResponseDto), List.of(replaced)));
+            verify(bookLogEventPublisher, times(2)).publishEvent(any(BookLogEvent.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace a book another transaction inserted after the locks were taken")
+    void shouldReplaceBookInsertedConcurrently() {
+        // Given - the row did not exist when locked, but a concurrent insert committed before the upsert
+        UpsertBookRequestDto upsert = UpsertBookRequestDto.builder().id(testBookId).title("Replaced Title").publicationYear(2024).build();
+        CreateBookResponseDto replaced = CreateBookResponseDto.builder().id(testBookId).title("Replaced Title").publicationYear(2024).build();
+
+        when(bookJdbcRepository.lockAllById(Set.of(testBookId))).thenReturn(List.of());
+        when(bookJdbcRepository.upsertAll(List.of(upsert), Set.of())).thenReturn(List.of());
+        when(bookJdbcRepository.lockAllById(List.of(testBookId))).thenReturn(List.of(testResponseDto));
+        when(bookJdbcRepository.upsertAll(List.of(upsert), Set.of(testBookId)))
+                .thenReturn(List.of(new UpsertedBook(replaced, false)));
+
+        try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
+            mockedTxManager.when(() -> TransactionSynchronizationManager.registerSynchronization(any(TransactionSynchronization.class)))
+                    .then(invocation -> {
+                        TransactionSynchronization sync = invocation.getArgument(0);
+                        sync.afterCommit();
+                        return null;
+                    });
+
+            // When
+            UpsertBooksResponseDto result = bookService.upsertBooks(List.of(upsert));
+
+            // Then
+            assertTrue(result.insertedIds().isEmpty());
+            assertEquals(List.of(testBookId), result.updatedIds());
+            verify(bookFacetService).applyChanges(List.of(testResponseDto), List.of(replaced));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject upsert with repeated IDs")
+    void shouldRejectUpsertWithRepeatedIds() {
+        // Given
+        UpsertBookRequestDto upsert = UpsertBookRequestDto.builder().id(testBookId).title("Title").build();
+
+        // When & Then
+        assertThrows(InvalidUpsertException.class, () -> bookService.upsertBooks(List.of(upsert, upsert)));
+        verifyNoInteractions(bookJdbcRepository);
+    }
+
     @Test
     @DisplayName("Should delete book successfully")
     void shouldDeleteBookSuccessfully() {
         // Given
-        when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
+        when(bookJdbcRepository.deleteAllById(List.of(testBookId))).thenReturn(List.of(testResponseDto));
 
         // Mock transaction synchronization manager
         try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
@@ -330,8 +583,9 @@ class BookServiceImplUnitTest {
             assertDoesNotThrow(() -> bookService.deleteBook(testBookId));
 
             // Then
-            verify(bookRepository).findById(testBookId);
-            verify(bookRepository).delete(testBook);
+            verify(bookJdbcRepository).deleteAllById(List.of(testBookId));
+            verify(bookFacetService).applyChanges(List.of(testResponseDto), List.of());
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.DELETE, List.of(testBookId)));
         }
     }
 
@@ -340,7 +594,7 @@ class BookServiceImplUnitTest {
     void shouldThrowBookNotFoundExceptionWhenDeletingNonExistentBook() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(bookRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(bookJdbcRepository.deleteAllById(List.of(nonExistentId))).thenReturn(List.of());
 
         // When & Then
         BookNotFoundException exception = assertThrows(BookNotFoundException.class, () -> {
@@ -348,9 +602,91 @@ class BookServiceImplUnitTest {
         });
 
         assertNotNull(exception);
-        verify(bookRepository).findById(nonExistentId);
-        verify(bookRepository, never()).delete(any());
-        verifyNoInteractions(bookLogEventPublisher);
+        verify(bookJdbcRepository).deleteAllById(List.of(nonExistentId));
+        verify(bookRepository, never()).delete(any(Book.class));
+        verifyNoInteractions(bookFacetService, bookLogEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should delete books by id with one statement and one event")
+    void shouldDeleteBooksByIdWithOneEvent() {
+        // Given
+        UUID otherId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        CreateBookResponseDto otherDto = CreateBookResponseDto.builder().id(otherId).title("Other").build();
+        when(bookJdbcRepository.deleteAllById(Set.of(testBookId, otherId, missingId)))
+                .thenReturn(List.of(testResponseDto, otherDto));
+
+        try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
+            mockedTxManager.when(() -> TransactionSynchronizationManager.registerSynchronization(any(TransactionSynchronization.class)))
+                    .then(invocation -> {
+                        TransactionSynchronization sync = invocation.getArgument(0);
+                        sync.afterCommit();
+                        return null;
+                    });
+
+            // When
+            DeleteBooksResponseDto result = bookService.deleteBooks(List.of(testBookId, otherId, missingId, testBookId));
+
+            // Then
+            assertEquals(2, result.deletedCount());
+            assertEquals(List.of(missingId), result.notFoundIds());
+            verify(bookFacetService).applyChanges(List.of(testResponseDto, otherDto), List.of());
+            verify(bookCacheInvalidationPublisher).publishChange(changeOf(EventType.DELETE, List.of(testBookId, otherId)));
+            verify(bookLogEventPublisher, times(1)).publishEvent(any(BookLogEvent.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should summarize a large deletion in the log event instead of listing every id")
+    void shouldSummarizeLargeDeletionInLogEvent() {
+        // Given
+        List<CreateBookResponseDto> deleted = IntStream.range(0, 25)
+                .mapToObj(i -> CreateBookResponseDto.builder().id(UUID.randomUUID()).build())
+                .toList();
+        List<UUID> ids = deleted.stream().map(CreateBookResponseDto::id).toList();
+        when(bookJdbcRepository.deleteAllById(new LinkedHashSet<>(ids))).thenReturn(deleted);
+
+        try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
+            mockedTxManager.when(() -> TransactionSynchronizationManager.registerSynchronization(any(TransactionSynchronization.class)))
+                    .then(invocation -> {
+                        TransactionSynchronization sync = invocation.getArgument(0);
+                        sync.afterCommit();
+                        return null;
+                    });
+
+            // When
+            bookService.deleteBooks(ids);
+
+            // Then
+            ArgumentCaptor<BookLogEvent> event = ArgumentCaptor.forClass(BookLogEvent.class);
+            verify(bookLogEventPublisher).publishEvent(event.capture());
+            assertEquals("25 books were deleted", event.getValue().getEventDescription());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject deleting books by an empty filter")
+    void shouldRejectDeletingBooksByEmptyFilter() {
+        // When & Then
+        assertThrows(InvalidBulkDeleteException.class, () -> bookService.deleteBooksMatching(null, null, null));
+
+        verifyNoInteractions(bookJdbcRepository, bookFacetService, bookLogEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should delete books matching a filter")
+    void shouldDeleteBooksMatchingFilter() {
+        // Given
+        when(bookJdbcRepository.deleteAllMatching(BookFilter.of("Test", null, null))).thenReturn(List.of());
+
+        // When
+        DeleteBooksResponseDto result = bookService.deleteBooksMatching("Test", null, null);
+
+        // Then
+        assertEquals(0, result.deletedCount());
+        assertTrue(result.notFoundIds().isEmpty());
+        verifyNoInteractions(bookFacetService, bookLogEventPublisher);
     }
 
     @Test
@@ -398,13 +734,12 @@ class BookServiceImplUnitTest {
     void shouldHandlePaginationEdgeCases() {
         // Given - Empty result set
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-
-        when(bookRepository.findBooksWithFilters(isNull(), isNull(), isNull(), any(Pageable.class))).thenReturn(emptyPage);
+        when(bookRepository.findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), pageable, false));
         when(bookMapper.toCreateBookResponseDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
 
         // When
-        PagedBooksResponseDto result = bookService.findBooksWithPagination(pageable, null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, null, null, TotalCountMode.EXACT);
 
         // Then
         assertNotNull(result);
@@ -414,7 +749,7 @@ class BookServiceImplUnitTest {
         assertFalse(result.hasNext());
         assertFalse(result.hasPrevious());
 
-        verify(bookRepository).findBooksWithFilters(isNull(), isNull(), isNull(), any(Pageable.class));
+        verify(bookRepository).findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class));
         verify(bookMapper).toCreateBookResponseDtoList(Collections.emptyList());
     }
 
@@ -438,7 +773,7 @@ class BookServiceImplUnitTest {
     @DisplayName("Should verify event publishing behavior")
     void shouldVerifyEventPublishingBehavior() {
         // Given
-        when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
+        when(bookJdbcRepository.deleteAllById(List.of(testBookId))).thenReturn(List.of(testResponseDto));
 
         // Mock transaction synchronization manager
         try (MockedStatic<TransactionSynchronizationManager> mockedTxManager = mockStatic(TransactionSynchronizationManager.class)) {
@@ -453,8 +788,8 @@ class BookServiceImplUnitTest {
             bookService.deleteBook(testBookId);
 
             // Then
-            verify(bookRepository).findById(testBookId);
-            verify(bookRepository).delete(testBook);
+            verify(bookJdbcRepository).deleteAllById(List.of(testBookId));
+            verifyNoInteractions(bookRepository);
             // Note: Event publishing happens asynchronously after transaction commit
             // In unit tests, we don't verify the actual event publishing since it's async
             // and tested separately in integration tests
@@ -505,8 +840,7 @@ class BookServiceImplUnitTest {
     void shouldHandleUpdateWithNoFoundBooks() {
         // Given
         List<UpdateBookRequestDto> updateRequests = List.of(testUpdateDto);
-        when(bookRepository.findAllById(any())).thenReturn(Collections.emptyList());
-        when(bookMapper.toCreateBookResponseDtoList(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(bookJdbcRepository.lockAvailableById(any())).thenReturn(Collections.emptyList());
 
         // When
         UpdateBooksResponseDto result = bookService.updateBooks(updateRequests);
@@ -518,25 +852,59 @@ class BookServiceImplUnitTest {
         assertTrue(result.notUpdatedIds().contains(testBookId));
         assertTrue(result.message().contains("not updated"));
 
-        verify(bookRepository).findAllById(any());
-        verify(bookMapper).toCreateBookResponseDtoList(Collections.emptyList());
+        verify(bookJdbcRepository).lockAvailableById(any());
+        verify(bookJdbcRepository, never()).patchAll(any(), any());
         verifyNoInteractions(bookLogEventPublisher); // No events for unsuccessful updates
     }
 
+    @Test
+    @DisplayName("Should report stale and concurrently locked books as conflicted without updating them")
+    void shouldReportConflictedBooksInUpdateOperation() {
+        // Given
+        UUID staleId = UUID.randomUUID();
+        UUID lockedId = UUID.randomUUID();
+        UpdateBookRequestDto stalePatch = UpdateBookRequestDto.builder()
+                .id(staleId)
+                .title(JsonNullable.of("Stale Title"))
+                .version(1L)
+                .build();
+        UpdateBookRequestDto lockedPatch = UpdateBookRequestDto.builder()
+                .id(lockedId)
+                .title(JsonNullable.of("Locked Title"))
+                .build();
+        CreateBookResponseDto staleBook = CreateBookResponseDto.builder().id(staleId).title("Title").version(2L).build();
+
+        when(bookJdbcRepository.lockAvailableById(any())).thenReturn(List.of(staleBook));
+        when(bookJdbcRepository.findExistingIds(List.of(lockedId))).thenReturn(Set.of(lockedId));
+
+        // When
+        UpdateBooksResponseDto result = bookService.updateBooks(List.of(stalePatch, lockedPatch));
+
+        // Then
+        assertTrue(result.updatedBooks().isEmpty());
+        assertTrue(result.notUpdatedIds().isEmpty());
+        assertEquals(Set.of(staleId, lockedId), Set.copyOf(result.conflictedIds()));
+        assertTrue(result.message().contains("conflict"));
+
+        verify(bookJdbcRepository, never()).patchAll(any(), any());
+        verifyNoInteractions(bookFacetService, bookLogEventPublisher);
+    }
+
     @Test
     @DisplayName("Should build correct PagedBooksResponseDto")
     void shouldBuildCorrectPagedBooksResponseDto() {
         // Given
         Pageable pageable = PageRequest.of(1, 5); // Second page
         List<Book> books = List.of(testBook);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, 12); // 12 total elements
         List<CreateBookResponseDto> responseDtos = List.of(testResponseDto);
 
-        when(bookRepository.findBooksWithFilters(isNull(), isNull(), isNull(), any(Pageable.class))).thenReturn(bookPage);
+        when(bookRepository.findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, true));
+        when(bookRepository.countBooksWithFilters(isNull(), isNull(), isNull())).thenReturn(12L); // 12 total elements
         when(bookMapper.toCreateBookResponseDtoList(books)).thenReturn(responseDtos);
 
         // When
-        PagedBooksResponseDto result = bookService.findBooksWithPagination(pageable, null, null, null);
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, null, null, TotalCountMode.EXACT);
 
         // Then
         assertNotNull(result);
@@ -548,4 +916,244 @@ class BookServiceImplUnitTest {
         assertTrue(result.hasNext()); // Page 1 of 3, so there's a next page
         assertTrue(result.hasPrevious()); // Page 1 of 3, so there's a previous page
     }
+
+    @Test
+    @DisplayName("Should scroll books and return token for the next slice")
+    void shouldScrollBooksAndReturnTokenForNextSlice() {
+        // Given
+        Book nextBook = new Book();
+        nextBook.setId(UUID.randomUUID());
+        nextBook.setTitle("Testing Spring Boot");
+
+        when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBook, nextBook));
+        when(bookMapper.toCreateBookResponseDtoList(List.of(testBook))).thenReturn(List.of(testResponseDto));
+
+        // When
+        ScrollBooksResponseDto result = bookService.scrollBooks(null, 1, "title", Sort.Direction.ASC, null, null, null);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(List.of(testResponseDto), result.books());
+        assertEquals(1, result.pageSize());
+        assertTrue(result.hasNext());
+
+        BookScrollCursor cursor = BookScrollCursor.decode(result.nextToken());
+        assertEquals("title", cursor.sortField());
+        assertEquals(Sort.Direction.ASC, cursor.direction());
+        assertEquals(testBook.getTitle(), cursor.sortValue());
+        assertEquals(testBookId, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Should return no token on the last scroll slice")
+    void shouldReturnNoTokenOnLastScrollSlice() {
+        // Given
+        String token = new BookScrollCursor("publicationYear", Sort.Direction.DESC, "2024", UUID.randomUUID()).encode();
+
+        when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBook));
+        when(bookMapper.toCreateBookResponseDtoList(List.of(testBook))).thenReturn(List.of(testResponseDto));
+
+        // When
+        ScrollBooksResponseDto result = bookService.scrollBooks(token, 10, "title", Sort.Direction.ASC, null, null, null);
+
+        // Then
+        assertEquals(1, result.books().size());
+        assertFalse(result.hasNext());
+        assertNull(result.nextToken());
+    }
+
+    @Test
+    @DisplayName("Should continue an ascending scroll into the books without a sort key")
+    void shouldTopUpScrollSliceFromNullSection() {
+        // Given
+        String token = new BookScrollCursor("title", Sort.Direction.ASC, "Spring", UUID.randomUUID()).encode();
+        Book untitledBook = new Book();
+        untitledBook.setId(UUID.randomUUID());
+
+        when(bookRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(testBook))
+                .thenReturn(List.of(untitledBook));
+        when(bookMapper.toCreateBookResponseDtoList(List.of(testBook, untitledBook)))
+                .thenReturn(List.of(testResponseDto, CreateBookResponseDto.builder().id(untitledBook.getId()).build()));
+
+        // When
+        ScrollBooksResponseDto result = bookService.scrollBooks(token, 10, "title", Sort.Direction.ASC, null, null, null);
+
+        // Then
+        assertEquals(2, result.books().size());
+        assertFalse(result.hasNext());
+        verify(bookRepository, times(2)).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("Should cap the scroll slice size like listing pages")
+    void shouldCapScrollSliceSize() {
+        // Given
+        when(bookRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBook));
+        when(bookMapper.toCreateBookResponseDtoList(List.of(testBook))).thenReturn(List.of(testResponseDto));
+
+        // When
+        ScrollBooksResponseDto result = bookService.scrollBooks(null, 1_000_000, "title", Sort.Direction.ASC, null, null, null);
+
+        // Then
+        assertEquals(PageableUtil.MAX_PAGE_SIZE, result.pageSize());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed scroll token")
+    void shouldRejectMalformedScrollToken() {
+        // When & Then
+        assertThrows(InvalidScrollTokenException.class, () ->
+                bookService.scrollBooks("not-a-valid-token", 10, "title", Sort.Direction.ASC, null, null, null));
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip count query when totals are not requested")
+    void shouldSkipCountQueryWhenTotalsAreNotRequested() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        List<Book> books = List.of(testBook);
+        List<CreateBookResponseDto> responseDtos = List.of(testResponseDto);
+
+        when(bookRepository.findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, true));
+        when(bookMapper.toCreateBookResponseDtoList(books)).thenReturn(responseDtos);
+
+        // When
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, null, null, TotalCountMode.NONE);
+
+        // Then
+        assertEquals(responseDtos, result.books());
+        assertNull(result.totalElements());
+        assertNull(result.totalPages());
+        assertNull(result.totalElementsEstimated());
+        assertEquals(0, result.currentPage());
+        assertEquals(1, result.pageSize());
+        assertTrue(result.hasNext());
+        assertFalse(result.hasPrevious());
+
+        verify(bookRepository, never()).countBooksWithFilters(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reuse cached count until a matching book changes")
+    void shouldReuseCachedCountUntilMatchingBookChanges() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        List<Book> books = List.of(testBook);
+
+        when(bookRepository.findBookSliceWithFilters(eq("Spring"), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, true));
+        when(bookRepository.countBooksWithFilters("spring", null, null)).thenReturn(5L);
+
+        // When
+        bookService.findBooksWithPagination(pageable, "Spring", null, null, TotalCountMode.EXACT);
+        PagedBooksResponseDto<CreateBookResponseDto> cached = bookService.findBooksWithPagination(pageable, "Spring", null, null, TotalCountMode.EXACT);
+
+        bookCountCache.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(testResponseDto)));
+        PagedBooksResponseDto<CreateBookResponseDto> recounted = bookService.findBooksWithPagination(pageable, "Spring", null, null, TotalCountMode.EXACT);
+
+        // Then
+        assertEquals(5, cached.totalElements());
+        assertFalse(cached.totalElementsEstimated());
+        assertEquals(5, recounted.totalElements());
+        verify(bookRepository, times(2)).countBooksWithFilters("spring", null, null);
+    }
+
+    @Test
+    @DisplayName("Should keep cached count when changed books do not match the filter")
+    void shouldKeepCachedCountWhenChangedBooksDoNotMatchFilter() {
+        // Given
+        BookFilter filter = BookFilter.of("Kotlin", null, null);
+        bookCountCache.getOrCompute(filter, () -> 3L);
+
+        // When
+        bookCountCache.onBooksChanged(new BooksChangedEvent(EventType.CREATE, List.of(), List.of(testResponseDto)));
+
+        // Then
+        assertEquals(3L, bookCountCache.getIfPresent(filter));
+    }
+
+    @Test
+    @DisplayName("Should report planner estimate for broad unfiltered queries")
+    void shouldReportPlannerEstimateForBroadUnfilteredQueries() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Book> books = List.of(testBook);
+
+        when(bookRepository.findBookSliceWithFilters(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, true));
+        when(bookJdbcRepository.estimateTotalBooks()).thenReturn(2_000_000L);
+        when(bookCountProperties.estimateThreshold()).thenReturn(100_000L);
+
+        // When
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, null, null, TotalCountMode.ESTIMATED);
+
+        // Then
+        assertEquals(2_000_000L, result.totalElements());
+        assertEquals(200_000, result.totalPages());
+        assertTrue(result.totalElementsEstimated());
+        verify(bookRepository, never()).countBooksWithFilters(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count exactly when the estimate is below the threshold")
+    void shouldCountExactlyWhenEstimateIsBelowThreshold() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Book> books = List.of(testBook);
+        BookFilter filter = BookFilter.of(null, "Craig", 2023);
+
+        when(bookRepository.findBookSliceWithFilters(isNull(), eq("Craig"), eq(2023), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(books, pageable, true));
+        when(bookJdbcRepository.estimateMatchingBooks(filter)).thenReturn(40L);
+        when(bookCountProperties.estimateThreshold()).thenReturn(100_000L);
+        when(bookRepository.countBooksWithFilters(null, "craig", 2023)).thenReturn(42L);
+
+        // When
+        PagedBooksResponseDto<CreateBookResponseDto> result = bookService.findBooksWithPagination(pageable, null, "Craig", 2023, TotalCountMode.ESTIMATED);
+
+        // Then
+        assertEquals(42L, result.totalElements());
+        assertFalse(result.totalElementsEstimated());
+    }
+
+    @Test
+    @DisplayName("Should look up books in request order and report missing IDs")
+    void shouldLookUpBooksInRequestOrderAndReportMissingIds() {
+        // Given
+        UUID otherId = UUID.fromString("223e4567-e89b-12d3-a456-426614174000");
+        UUID missingId = UUID.fromString("323e4567-e89b-12d3-a456-426614174000");
+        Book otherBook = new Book();
+        otherBook.setId(otherId);
+        otherBook.setTitle("Effective Java");
+        CreateBookResponseDto otherResponseDto = CreateBookResponseDto.builder()
+                .id(otherId)
+                .title("Effective Java")
+                .build();
+
+        when(bookRepository.findAllById(new LinkedHashSet<>(List.of(otherId, missingId, testBookId))))
+                .thenReturn(List.of(testBook, otherBook));
+        when(bookMapper.toCreateBookResponseDto(testBook)).thenReturn(testResponseDto);
+        when(bookMapper.toCreateBookResponseDto(otherBook)).thenReturn(otherResponseDto);
+
+        // When
+        LookupBooksResponseDto result = bookService.findAllByIds(List.of(otherId, missingId, testBookId, otherId));
+
+        // Then
+        assertEquals(List.of(otherResponseDto, testResponseDto), result.books());
+        assertEquals(List.of(missingId), result.notFoundIds());
+        verify(bookRepository, times(1)).findAllById(any());
+    }
+
+    // Matches the broadcast of a change by its type and the ids of the books it affects
+    private static BooksChangedEvent changeOf(EventType eventType, List<UUID> ids) {
+        return argThat(event -> event.eventType() == eventType
+                && (eventType == EventType.DELETE ? event.previous() : event.current()).stream()
+                .map(CreateBookResponseDto::id)
+                .toList()
+                .equals(ids));
+    }
 }